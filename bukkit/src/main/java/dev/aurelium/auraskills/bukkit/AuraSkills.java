@@ -18,6 +18,7 @@ import dev.aurelium.auraskills.bukkit.api.implementation.BukkitApiProvider;
 import dev.aurelium.auraskills.bukkit.commands.CommandRegistrar;
 import dev.aurelium.auraskills.bukkit.commands.ConfirmManager;
 import dev.aurelium.auraskills.bukkit.config.BukkitConfigProvider;
+import dev.aurelium.auraskills.bukkit.damage.DamagePipeline;
 import dev.aurelium.auraskills.bukkit.event.BukkitEventHandler;
 import dev.aurelium.auraskills.bukkit.hooks.WorldGuardFlags;
 import dev.aurelium.auraskills.bukkit.item.*;
@@ -129,6 +130,8 @@ public class AuraSkills extends JavaPlugin implements AuraSkillsPlugin {
     private BukkitManaAbilityManager manaAbilityManager;
     private StatManager statManager;
     private BukkitTraitManager traitManager;
+    private DamagePipeline damagePipeline;
+    private CriticalHandler criticalHandler;
     private SkillRegistry skillRegistry;
     private StatRegistry statRegistry;
     private TraitRegistry traitRegistry;
@@ -209,6 +212,7 @@ public class AuraSkills extends JavaPlugin implements AuraSkillsPlugin {
         manaAbilityManager = new BukkitManaAbilityManager(this);
         statManager = new BukkitStatManager(this);
         traitManager = new BukkitTraitManager(this);
+        damagePipeline = new DamagePipeline(this);
 
         // Init registries
         skillRegistry = new SkillRegistry(this);
@@ -318,6 +322,9 @@ public class AuraSkills extends JavaPlugin implements AuraSkillsPlugin {
 
     @Override
     public void onDisable() {
+        if (levelManager != null) {
+            levelManager.getXpBatcher().flush(); // Add batched xp before users are saved
+        }
         if (scheduler != null) {
             scheduler.shutdown();
         }
@@ -443,7 +450,9 @@ public class AuraSkills extends JavaPlugin implements AuraSkillsPlugin {
     private void registerEvents() {
         PluginManager pm = getServer().getPluginManager();
         pm.registerEvents(new DamageListener(this), this);
-        pm.registerEvents(new CriticalHandler(this), this);
+        pm.registerEvents(damagePipeline, this);
+        criticalHandler = new CriticalHandler(this);
+        criticalHandler.register(damagePipeline);
         pm.registerEvents(new BlockInteractions(this), this);
         pm.registerEvents(new BlockLootHandler(this), this);
         pm.registerEvents(new FishingLootHandler(this), this);
@@ -589,6 +598,10 @@ public class AuraSkills extends JavaPlugin implements AuraSkillsPlugin {
         return traitManager;
     }
 
+    public DamagePipeline getDamagePipeline() {
+        return damagePipeline;
+    }
+
     @Override
     public AbilityRegistry getAbilityRegistry() {
         return abilityRegistry;
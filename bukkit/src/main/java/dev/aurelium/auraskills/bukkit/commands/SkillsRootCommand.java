@@ -237,12 +237,12 @@ public class SkillsRootCommand extends BaseCommand {
         player.sendMessage(plugin.getMsg(CommandMessage.RANK_HEADER, locale));
         player.sendMessage(plugin.getMsg(CommandMessage.RANK_POWER, locale)
                 .replace("{rank}", String.valueOf(plugin.getLeaderboardManager().getPowerRank(player.getUniqueId())))
-                .replace("{total}", String.valueOf(plugin.getLeaderboardManager().getPowerLeaderboard().size())));
+                .replace("{total}", String.valueOf(plugin.getLeaderboardManager().getPowerLeaderboardSize())));
         for (Skill skill : plugin.getSkillManager().getEnabledSkills()) {
             player.sendMessage(plugin.getMsg(CommandMessage.RANK_ENTRY, locale)
                     .replace("{skill}", String.valueOf(skill.getDisplayName(locale)))
                     .replace("{rank}", String.valueOf(plugin.getLeaderboardManager().getSkillRank(skill, player.getUniqueId())))
-                    .replace("{total}", String.valueOf(plugin.getLeaderboardManager().getLeaderboard(skill).size())));
+                    .replace("{total}", String.valueOf(plugin.getLeaderboardManager().getLeaderboardSize(skill))));
         }
     }
 
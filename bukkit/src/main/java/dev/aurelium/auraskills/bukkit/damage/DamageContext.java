@@ -0,0 +1,64 @@
+package dev.aurelium.auraskills.bukkit.damage;
+
+import dev.aurelium.auraskills.api.damage.DamageMeta;
+import dev.aurelium.auraskills.api.event.damage.DamageEvent;
+import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.common.user.User;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A hit handled by the {@link DamagePipeline}, with the attacker and target players and
+ * users resolved once for all contributors.
+ */
+public class DamageContext {
+
+    private final DamageEvent event;
+    private final DamageMeta meta;
+    @Nullable
+    private final Player attacker;
+    @Nullable
+    private final User attackerUser;
+    @Nullable
+    private final Player target;
+    @Nullable
+    private final User targetUser;
+
+    DamageContext(AuraSkills plugin, DamageEvent event) {
+        this.event = event;
+        this.meta = event.getDamageMeta();
+        this.attacker = meta.getAttackerAsPlayer();
+        this.attackerUser = attacker != null ? plugin.getUser(attacker) : null;
+        this.target = meta.getTargetAsPlayer();
+        this.targetUser = target != null ? plugin.getUser(target) : null;
+    }
+
+    public DamageEvent getEvent() {
+        return event;
+    }
+
+    public DamageMeta getMeta() {
+        return meta;
+    }
+
+    @Nullable
+    public Player getAttacker() {
+        return attacker;
+    }
+
+    @Nullable
+    public User getAttackerUser() {
+        return attackerUser;
+    }
+
+    @Nullable
+    public Player getTarget() {
+        return target;
+    }
+
+    @Nullable
+    public User getTargetUser() {
+        return targetUser;
+    }
+
+}
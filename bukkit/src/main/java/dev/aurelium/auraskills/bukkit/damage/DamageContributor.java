@@ -0,0 +1,23 @@
+package dev.aurelium.auraskills.bukkit.damage;
+
+import dev.aurelium.auraskills.api.damage.DamageModifier;
+import dev.aurelium.auraskills.common.user.User;
+import org.bukkit.entity.Player;
+
+/**
+ * A source of damage modifiers registered to the {@link DamagePipeline}.
+ */
+@FunctionalInterface
+public interface DamageContributor {
+
+    /**
+     * Gets the modifier to apply to a hit.
+     *
+     * @param context the hit being handled
+     * @param player the attacker or target player, depending on the role the contributor was registered with
+     * @param user the user of the player
+     * @return the modifier, or {@link DamageModifier#none()} if nothing applies
+     */
+    DamageModifier apply(DamageContext context, Player player, User user);
+
+}
@@ -0,0 +1,147 @@
+package dev.aurelium.auraskills.bukkit.damage;
+
+import dev.aurelium.auraskills.api.damage.DamageMeta;
+import dev.aurelium.auraskills.api.damage.DamageType;
+import dev.aurelium.auraskills.api.event.damage.DamageEvent;
+import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.common.user.User;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies the plugin's own ability and trait damage modifiers from a single {@link DamageEvent} listener
+ * per priority instead of one listener per ability or trait. Contributors are grouped by damage type and
+ * role when registered, so a hit only runs the contributors that apply to it, and the attacker and target
+ * users are resolved once for the whole hit. The event is still called normally, so listeners of other
+ * plugins run in between the stages in priority order.
+ */
+public class DamagePipeline implements Listener {
+
+    private final AuraSkills plugin;
+    private final Stage low = new Stage();
+    private final Stage normal = new Stage();
+    // The context of the hit being handled, shared between the stages
+    private final ThreadLocal<DamageContext> current = new ThreadLocal<>();
+
+    public DamagePipeline(AuraSkills plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Registers a contributor to run for every hit matching the role and damage type. Contributors in
+     * the same stage run in the order they were registered. Registrations are permanent, so ability and
+     * trait implementations register their contributors once from their constructors when they are
+     * created at startup. Other contributors should be registered explicitly after the pipeline is created.
+     *
+     * @param priority the stage to run in, either {@link EventPriority#LOW} or {@link EventPriority#NORMAL}
+     * @param role whether the contributor applies to the attacking or targeted player
+     * @param type the damage type to run for, or null to run for all types
+     * @param contributor the contributor
+     */
+    public void register(EventPriority priority, DamageRole role, @Nullable DamageType type, DamageContributor contributor) {
+        Stage stage = switch (priority) {
+            case LOW -> low;
+            case NORMAL -> normal;
+            default -> throw new IllegalArgumentException("Unsupported damage pipeline priority " + priority);
+        };
+        stage.add(new Registration(role, type, contributor));
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onDamageLow(DamageEvent event) {
+        if (low.isEmpty()) return;
+
+        low.run(getContext(event));
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onDamage(DamageEvent event) {
+        if (normal.isEmpty()) return;
+
+        normal.run(getContext(event));
+    }
+
+    // Runs for cancelled hits too so the context never keeps players or users in memory
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDamageMonitor(DamageEvent event) {
+        current.remove();
+    }
+
+    private DamageContext getContext(DamageEvent event) {
+        DamageContext context = current.get();
+        if (context == null || context.getEvent() != event) {
+            context = new DamageContext(plugin, event);
+            current.set(context);
+        }
+        return context;
+    }
+
+    private record Registration(DamageRole role, @Nullable DamageType type, DamageContributor contributor) {
+
+    }
+
+    private static class Stage {
+
+        private static final DamageContributor[] EMPTY = new DamageContributor[0];
+
+        private final List<Registration> registrations = new ArrayList<>();
+        private volatile Map<DamageType, DamageContributor[]> attacker = new EnumMap<>(DamageType.class);
+        private volatile Map<DamageType, DamageContributor[]> target = new EnumMap<>(DamageType.class);
+
+        synchronized void add(Registration registration) {
+            registrations.add(registration);
+            this.attacker = compile(DamageRole.ATTACKER);
+            this.target = compile(DamageRole.TARGET);
+        }
+
+        boolean isEmpty() {
+            return attacker.isEmpty() && target.isEmpty();
+        }
+
+        void run(DamageContext context) {
+            DamageMeta meta = context.getMeta();
+            DamageType type = meta.getDamageType();
+
+            Player attackerPlayer = context.getAttacker();
+            User attackerUser = context.getAttackerUser();
+            if (attackerPlayer != null && attackerUser != null) {
+                for (DamageContributor contributor : attacker.getOrDefault(type, EMPTY)) {
+                    meta.addAttackModifier(contributor.apply(context, attackerPlayer, attackerUser));
+                }
+            }
+            Player targetPlayer = context.getTarget();
+            User targetUser = context.getTargetUser();
+            if (targetPlayer != null && targetUser != null) {
+                for (DamageContributor contributor : target.getOrDefault(type, EMPTY)) {
+                    meta.addDefenseModifier(contributor.apply(context, targetPlayer, targetUser));
+                }
+            }
+        }
+
+        private Map<DamageType, DamageContributor[]> compile(DamageRole role) {
+            Map<DamageType, DamageContributor[]> compiled = new EnumMap<>(DamageType.class);
+            for (DamageType type : DamageType.values()) {
+                List<DamageContributor> contributors = new ArrayList<>();
+                for (Registration registration : registrations) {
+                    if (registration.role() == role && (registration.type() == null || registration.type() == type)) {
+                        contributors.add(registration.contributor());
+                    }
+                }
+                if (!contributors.isEmpty()) {
+                    compiled.put(type, contributors.toArray(EMPTY));
+                }
+            }
+            return compiled;
+        }
+
+    }
+
+}
@@ -0,0 +1,18 @@
+package dev.aurelium.auraskills.bukkit.damage;
+
+/**
+ * The side of a hit a {@link DamageContributor} applies to.
+ */
+public enum DamageRole {
+
+    /**
+     * Runs when the attacker is a player or a projectile shot by a player. The returned
+     * modifier is added as an attack modifier.
+     */
+    ATTACKER,
+    /**
+     * Runs when the target is a player. The returned modifier is added as a defense modifier.
+     */
+    TARGET
+
+}
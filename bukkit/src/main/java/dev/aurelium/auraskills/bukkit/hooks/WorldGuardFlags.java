@@ -12,6 +12,7 @@ import dev.aurelium.auraskills.common.util.text.TextUtil;
 import org.bukkit.Bukkit;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.EnumMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -20,10 +21,15 @@ public class WorldGuardFlags {
 
     private final AuraSkills plugin;
     private final Map<String, StateFlag> stateFlags;
+    // Direct lookups for the flags checked on every XP gain
+    private final Map<FlagKey, StateFlag> keyFlags;
+    private final Map<Skill, StateFlag> skillXpGainFlags;
 
     public WorldGuardFlags(AuraSkills plugin) {
         this.plugin = plugin;
         this.stateFlags = new ConcurrentHashMap<>();
+        this.keyFlags = new EnumMap<>(FlagKey.class);
+        this.skillXpGainFlags = new ConcurrentHashMap<>();
     }
 
     @Nullable
@@ -31,6 +37,16 @@ public class WorldGuardFlags {
         return stateFlags.get(flagKey);
     }
 
+    @Nullable
+    public StateFlag getStateFlag(FlagKey flagKey) {
+        return keyFlags.get(flagKey);
+    }
+
+    @Nullable
+    public StateFlag getSkillXpGainFlag(Skill skill) {
+        return skillXpGainFlags.get(skill);
+    }
+
     public void register() {
         FlagRegistry registry = WorldGuard.getInstance().getFlagRegistry();
         for (FlagKey flagKey : FlagKey.values()) {
@@ -42,10 +58,12 @@ public class WorldGuardFlags {
                     StateFlag stateFlag = new StateFlag(flagName, (boolean) def);
                     registry.register(stateFlag);
                     stateFlags.put(flagKey.toString(), stateFlag);
+                    keyFlags.put(flagKey, stateFlag);
                 } catch (FlagConflictException e) {
                     Flag<?> existing = registry.get(flagName);
                     if (existing instanceof StateFlag) {
                         stateFlags.put(flagKey.toString(), (StateFlag) existing);
+                        keyFlags.put(flagKey, (StateFlag) existing);
                     } else {
                         Bukkit.getLogger().warning("Could not register flag " + flagName);
                         e.printStackTrace();
@@ -65,10 +83,12 @@ public class WorldGuardFlags {
                 StateFlag stateFlag = new StateFlag(flagName, true);
                 registry.register(stateFlag);
                 stateFlags.put(keyName, stateFlag);
+                skillXpGainFlags.put(skill, stateFlag);
             } catch (FlagConflictException e) {
                 Flag<?> existing = registry.get(flagName);
                 if (existing instanceof StateFlag) {
                     stateFlags.put(keyName, (StateFlag) existing);
+                    skillXpGainFlags.put(skill, (StateFlag) existing);
                 } else {
                     plugin.logger().warn("Could not register flag " + flagName);
                     e.printStackTrace();
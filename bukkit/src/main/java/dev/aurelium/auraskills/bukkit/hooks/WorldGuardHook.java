@@ -1,34 +1,42 @@
 package dev.aurelium.auraskills.bukkit.hooks;
 
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
-import com.sk89q.worldguard.LocalPlayer;
+import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldguard.WorldGuard;
-import com.sk89q.worldguard.bukkit.WorldGuardPlugin;
 import com.sk89q.worldguard.protection.ApplicableRegionSet;
 import com.sk89q.worldguard.protection.flags.StateFlag;
 import com.sk89q.worldguard.protection.managers.RegionManager;
-import com.sk89q.worldguard.protection.regions.ProtectedRegion;
 import com.sk89q.worldguard.protection.regions.RegionContainer;
 import dev.aurelium.auraskills.api.skill.Skill;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.bukkit.hooks.WorldGuardFlags.FlagKey;
+import dev.aurelium.auraskills.bukkit.hooks.WorldGuardRegionCache.Section;
 import dev.aurelium.auraskills.common.hooks.Hook;
 import dev.aurelium.auraskills.common.hooks.HookRegistrationException;
-import dev.aurelium.auraskills.common.util.text.TextUtil;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.bukkit.event.server.ServerCommandEvent;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.serialize.SerializationException;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
-public class WorldGuardHook extends Hook {
+public class WorldGuardHook extends Hook implements Listener {
+
+    private static final Set<String> REGION_COMMANDS = Set.of("rg", "region", "regions", "worldguard", "wg");
 
     private final AuraSkills plugin;
     private RegionContainer container;
-    private List<String> blockedRegions;
-    private List<String> blockedCheckBlockReplaceRegions;
+    private Set<String> blockedRegions;
+    private Set<String> blockedCheckBlockReplaceRegions;
+    private WorldGuardRegionCache regionCache;
 
     public WorldGuardHook(AuraSkills plugin, ConfigurationNode config) {
         super(plugin, config);
@@ -42,85 +50,102 @@ public class WorldGuardHook extends Hook {
 
     public void loadRegions(ConfigurationNode config) throws SerializationException {
         container = WorldGuard.getInstance().getPlatform().getRegionContainer();
-        blockedRegions = new LinkedList<>();
-        blockedRegions.addAll(config.node("blocked_regions").getList(String.class, new ArrayList<>()));
-        blockedCheckBlockReplaceRegions = new LinkedList<>();
-        blockedCheckBlockReplaceRegions.addAll(config.node("blocked_check_replace_regions").getList(String.class, new ArrayList<>()));
+        blockedRegions = new HashSet<>(config.node("blocked_regions").getList(String.class, new ArrayList<>()));
+        blockedCheckBlockReplaceRegions = new HashSet<>(config.node("blocked_check_replace_regions").getList(String.class, new ArrayList<>()));
+        regionCache = new WorldGuardRegionCache(config.node("region_cache_size").getInt(4096),
+                config.node("region_cache_ttl_ms").getLong(10000));
     }
 
     public boolean isBlocked(Location location, Player player, FlagKey flagKey) {
-        if (isInBlockedRegion(location)) {
-            return true;
-        }
-        return blockedByFlag(location, player, flagKey);
+        WorldGuardFlags flags = plugin.getWorldGuardFlags();
+        StateFlag flag = flags != null ? flags.getStateFlag(flagKey) : null;
+        return isBlocked(location, player, flag, null);
     }
 
     public boolean isBlocked(Location location, Player player, Skill skill) {
-        if (isInBlockedRegion(location)) {
-            return true;
-        }
-        if (blockedByFlag(location, player, FlagKey.XP_GAIN)) {
-            return true;
+        WorldGuardFlags flags = plugin.getWorldGuardFlags();
+        if (flags == null) {
+            return isBlocked(location, player, null, null);
         }
-        return blockedBySkillFlag(location, player, skill);
-    }
-
-    private boolean isInBlockedRegion(Location location) {
-        return isInRegionList(location, blockedRegions);
+        return isBlocked(location, player, flags.getStateFlag(FlagKey.XP_GAIN), flags.getSkillXpGainFlag(skill));
     }
 
     public boolean isInBlockedCheckRegion(Location location) {
-        return isInRegionList(location, blockedCheckBlockReplaceRegions);
+        World world = location.getWorld();
+        if (world == null) {
+            return false;
+        }
+        RegionManager regions = container.get(BukkitAdapter.adapt(world));
+        if (regions == null) {
+            return false;
+        }
+        BlockVector3 point = BukkitAdapter.asBlockVector(location);
+        Section section = getSection(world, regions, point);
+        if (section != null) {
+            return section.isInBlockedCheckRegion();
+        }
+        return WorldGuardRegionCache.containsAny(regions.getApplicableRegions(point), blockedCheckBlockReplaceRegions);
     }
 
-    private boolean isInRegionList(Location location, List<String> blockedRegions) {
-        if (location.getWorld() == null) {
+    private boolean isBlocked(Location location, Player player, @Nullable StateFlag flag, @Nullable StateFlag skillFlag) {
+        World world = location.getWorld();
+        if (world == null) {
             return false;
         }
-        RegionManager regions = container.get(BukkitAdapter.adapt(location.getWorld()));
+        RegionManager regions = container.get(BukkitAdapter.adapt(world));
         if (regions == null) {
             return false;
         }
-        ApplicableRegionSet set = regions.getApplicableRegions(BukkitAdapter.adapt(location).toVector().toBlockPoint());
-        for (ProtectedRegion region : set) {
-            if (blockedRegions.contains(region.getId())) {
-                return true;
-            }
+        BlockVector3 point = BukkitAdapter.asBlockVector(location);
+        Section section = getSection(world, regions, point);
+        if (section != null) {
+            return section.isInBlockedRegion()
+                    || (flag != null && section.isDenied(player, flag))
+                    || (skillFlag != null && section.isDenied(player, skillFlag));
         }
-        return false;
+        // Use one region query for the blocked list and both flags
+        ApplicableRegionSet set = regions.getApplicableRegions(point);
+        return WorldGuardRegionCache.containsAny(set, blockedRegions)
+                || (flag != null && WorldGuardRegionCache.isDenied(set, player, flag))
+                || (skillFlag != null && WorldGuardRegionCache.isDenied(set, player, skillFlag));
     }
 
-    private boolean blockedByFlag(Location location, Player player, FlagKey flagKey) {
-        WorldGuardFlags flags = plugin.getWorldGuardFlags();
-        if (flags == null) return false;
-
-        StateFlag flag = flags.getStateFlag(flagKey.toString());
-        return queryFlagState(location, player, flag);
+    @Nullable
+    private Section getSection(World world, RegionManager regions, BlockVector3 point) {
+        if (!regionCache.isEnabled()) {
+            return null;
+        }
+        return regionCache.getSection(world.getUID(), regions, point, blockedRegions, blockedCheckBlockReplaceRegions);
     }
 
-    private boolean blockedBySkillFlag(Location location, Player player, Skill skill) {
-        WorldGuardFlags flags = plugin.getWorldGuardFlags();
-        if (flags == null) return false;
-
-        String flagKey = "xp-gain-" + TextUtil.replace(skill.name().toLowerCase(Locale.ROOT), "_", "-");
-        StateFlag flag = flags.getStateFlag(flagKey);
-        return queryFlagState(location, player, flag);
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerCommand(PlayerCommandPreprocessEvent event) {
+        handleCommand(event.getMessage());
     }
 
-    private boolean queryFlagState(Location location, Player player, StateFlag flag) {
-        if (flag == null) return false;
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onServerCommand(ServerCommandEvent event) {
+        handleCommand(event.getCommand());
+    }
 
-        World world = location.getWorld();
-        if (world == null) return false;
+    private void handleCommand(String command) {
+        if (!regionCache.isEnabled()) return;
 
-        RegionManager regions = container.get(BukkitAdapter.adapt(location.getWorld()));
-        if (regions == null) {
-            return false;
+        String label = command.startsWith("/") ? command.substring(1) : command;
+        int space = label.indexOf(' ');
+        if (space != -1) {
+            label = label.substring(0, space);
+        }
+        int colon = label.indexOf(':');
+        if (colon != -1) {
+            label = label.substring(colon + 1);
+        }
+        if (!REGION_COMMANDS.contains(label.toLowerCase(Locale.ROOT))) {
+            return;
         }
-        ApplicableRegionSet set = regions.getApplicableRegions(BukkitAdapter.adapt(location).toVector().toBlockPoint());
-        LocalPlayer localPlayer = WorldGuardPlugin.inst().wrapPlayer(player);
-        StateFlag.State state = set.queryState(localPlayer, flag);
-        return state == StateFlag.State.DENY;
+        // Regions may have changed, WorldGuard applies some changes async so clear again after they finish
+        regionCache.clear();
+        plugin.getScheduler().scheduleSync(regionCache::clear, 1, TimeUnit.SECONDS);
     }
 
     @Override
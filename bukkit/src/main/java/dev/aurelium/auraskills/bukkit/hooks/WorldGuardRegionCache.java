@@ -0,0 +1,209 @@
+package dev.aurelium.auraskills.bukkit.hooks;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldguard.LocalPlayer;
+import com.sk89q.worldguard.bukkit.WorldGuardPlugin;
+import com.sk89q.worldguard.protection.ApplicableRegionSet;
+import com.sk89q.worldguard.protection.flags.RegionGroup;
+import com.sk89q.worldguard.protection.flags.RegionGroupFlag;
+import com.sk89q.worldguard.protection.flags.StateFlag;
+import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.ProtectedCuboidRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import com.sk89q.worldguard.protection.regions.RegionType;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the regions and flag decisions of 16x16x16 chunk sections. A section is only cached when every
+ * region touching it covers the whole section, so all locations in it have the same applicable regions.
+ * Sections cut by a region border are remembered as such and queried per location. Flag decisions are
+ * only shared between players when no region limits the flag to a member group.
+ */
+class WorldGuardRegionCache {
+
+    private static final String SECTION_REGION_ID = "auraskills_section";
+
+    private final int maxSize;
+    private final long ttlMs;
+    private final Map<SectionKey, Section> sections;
+
+    WorldGuardRegionCache(int maxSize, long ttlMs) {
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+        this.sections = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SectionKey, Section> eldest) {
+                return size() > WorldGuardRegionCache.this.maxSize;
+            }
+        };
+    }
+
+    boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Gets the cached section containing the block, computing it if missing or stale.
+     *
+     * @return the section, or null if the section is cut by a region border and must be queried per location
+     */
+    @Nullable
+    Section getSection(UUID worldId, RegionManager manager, BlockVector3 point, Set<String> blockedRegions,
+                       Set<String> blockedCheckRegions) {
+        SectionKey key = new SectionKey(worldId, point.getBlockX() >> 4, point.getBlockY() >> 4, point.getBlockZ() >> 4);
+        long now = System.currentTimeMillis();
+        synchronized (sections) {
+            Section section = sections.get(key);
+            if (section != null && section.manager == manager && now - section.createdAt < ttlMs) {
+                return section.uniform ? section : null;
+            }
+        }
+        Section section = createSection(key, manager, blockedRegions, blockedCheckRegions, now);
+        synchronized (sections) {
+            sections.put(key, section);
+        }
+        return section.uniform ? section : null;
+    }
+
+    void clear() {
+        synchronized (sections) {
+            sections.clear();
+        }
+    }
+
+    private Section createSection(SectionKey key, RegionManager manager, Set<String> blockedRegions,
+                                  Set<String> blockedCheckRegions, long now) {
+        BlockVector3 min = BlockVector3.at(key.x() << 4, key.y() << 4, key.z() << 4);
+        BlockVector3 max = min.add(15, 15, 15);
+        ProtectedRegion bounds = new ProtectedCuboidRegion(SECTION_REGION_ID, true, min, max);
+        for (ProtectedRegion region : manager.getApplicableRegions(bounds)) {
+            if (!coversSection(region, min, max)) {
+                return new Section(manager, null, false, false, false, now);
+            }
+        }
+        // Every touching region contains the whole section, so the corner has the same regions as any location
+        ApplicableRegionSet set = manager.getApplicableRegions(min);
+        return new Section(manager, set, true, containsAny(set, blockedRegions), containsAny(set, blockedCheckRegions), now);
+    }
+
+    private boolean coversSection(ProtectedRegion region, BlockVector3 min, BlockVector3 max) {
+        if (region.getType() == RegionType.GLOBAL) {
+            return true;
+        }
+        if (region.getType() != RegionType.CUBOID) {
+            return false;
+        }
+        BlockVector3 regionMin = region.getMinimumPoint();
+        BlockVector3 regionMax = region.getMaximumPoint();
+        return regionMin.getBlockX() <= min.getBlockX() && regionMin.getBlockY() <= min.getBlockY() && regionMin.getBlockZ() <= min.getBlockZ()
+                && regionMax.getBlockX() >= max.getBlockX() && regionMax.getBlockY() >= max.getBlockY() && regionMax.getBlockZ() >= max.getBlockZ();
+    }
+
+    static boolean containsAny(ApplicableRegionSet set, Set<String> regionIds) {
+        if (regionIds.isEmpty()) {
+            return false;
+        }
+        for (ProtectedRegion region : set) {
+            if (regionIds.contains(region.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isDenied(ApplicableRegionSet set, Player player, StateFlag flag) {
+        LocalPlayer localPlayer = WorldGuardPlugin.inst().wrapPlayer(player);
+        return set.queryState(localPlayer, flag) == StateFlag.State.DENY;
+    }
+
+    static class Section {
+
+        private final RegionManager manager;
+        private final ApplicableRegionSet set;
+        private final boolean uniform;
+        private final boolean inBlockedRegion;
+        private final boolean inBlockedCheckRegion;
+        private final long createdAt;
+        private final Map<StateFlag, Boolean> deniedFlags = new ConcurrentHashMap<>();
+        private final Set<StateFlag> memberFlags = ConcurrentHashMap.newKeySet();
+
+        private Section(RegionManager manager, ApplicableRegionSet set, boolean uniform, boolean inBlockedRegion,
+                        boolean inBlockedCheckRegion, long createdAt) {
+            this.manager = manager;
+            this.set = set;
+            this.uniform = uniform;
+            this.inBlockedRegion = inBlockedRegion;
+            this.inBlockedCheckRegion = inBlockedCheckRegion;
+            this.createdAt = createdAt;
+        }
+
+        boolean isInBlockedRegion() {
+            return inBlockedRegion;
+        }
+
+        boolean isInBlockedCheckRegion() {
+            return inBlockedCheckRegion;
+        }
+
+        boolean isDenied(Player player, StateFlag flag) {
+            Boolean denied = deniedFlags.get(flag);
+            if (denied != null) {
+                return denied;
+            }
+            // The decision can only be reused for other players if membership doesn't affect it
+            if (memberFlags.contains(flag)) {
+                return WorldGuardRegionCache.isDenied(set, player, flag);
+            }
+            if (dependsOnMembership(flag)) {
+                memberFlags.add(flag);
+                return WorldGuardRegionCache.isDenied(set, player, flag);
+            }
+            denied = WorldGuardRegionCache.isDenied(set, player, flag);
+            deniedFlags.put(flag, denied);
+            return denied;
+        }
+
+        private boolean dependsOnMembership(StateFlag flag) {
+            RegionGroupFlag groupFlag = flag.getRegionGroupFlag();
+            if (groupFlag == null) {
+                return false;
+            }
+            if (groupFlag.getDefault() != RegionGroup.ALL) {
+                return true;
+            }
+            if (setsGroup(manager.getRegion(ProtectedRegion.GLOBAL_REGION), groupFlag)) {
+                return true;
+            }
+            for (ProtectedRegion region : set) {
+                if (setsGroup(region, groupFlag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean setsGroup(@Nullable ProtectedRegion region, RegionGroupFlag groupFlag) {
+            // Flags are inherited from parents
+            for (ProtectedRegion current = region; current != null; current = current.getParent()) {
+                RegionGroup group = current.getFlag(groupFlag);
+                if (group != null && group != RegionGroup.ALL) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+    private record SectionKey(UUID worldId, int x, int y, int z) {
+
+    }
+
+}
@@ -51,7 +51,9 @@ public class BukkitLevelManager extends LevelManager {
         registerLeveler(new FishingLeveler(plugin));
         registerLeveler(new GrindstoneLeveler(plugin));
         registerLeveler(new ItemConsumeLeveler(plugin));
-        registerLeveler(new JumpingLeveler(plugin));
+        JumpingLeveler jumpingLeveler = new JumpingLeveler(plugin);
+        registerLeveler(jumpingLeveler);
+        jumpingLeveler.registerJumpListener();
         registerLeveler(new ManaAbilityUseLeveler(plugin));
         registerLeveler(new PotionSplashLeveler(plugin));
         registerLeveler(new StatisticLeveler(plugin));
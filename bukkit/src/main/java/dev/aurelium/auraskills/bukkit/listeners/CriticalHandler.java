@@ -1,38 +1,44 @@
 package dev.aurelium.auraskills.bukkit.listeners;
 
-import dev.aurelium.auraskills.api.damage.DamageMeta;
 import dev.aurelium.auraskills.api.damage.DamageModifier;
-import dev.aurelium.auraskills.api.event.damage.DamageEvent;
+import dev.aurelium.auraskills.api.damage.DamageType;
 import dev.aurelium.auraskills.api.trait.Traits;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.bukkit.damage.DamageContext;
+import dev.aurelium.auraskills.bukkit.damage.DamagePipeline;
+import dev.aurelium.auraskills.bukkit.damage.DamageRole;
 import dev.aurelium.auraskills.bukkit.trait.CritChanceTrait;
 import dev.aurelium.auraskills.common.config.Option;
 import dev.aurelium.auraskills.common.user.User;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
+import org.bukkit.event.EventPriority;
 import org.bukkit.metadata.FixedMetadataValue;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
-public class CriticalHandler implements Listener {
+public class CriticalHandler {
 
     private final AuraSkills plugin;
+    private final Map<DamageType, Option> enabledOptions = new EnumMap<>(DamageType.class);
 
     public CriticalHandler(AuraSkills plugin) {
         this.plugin = plugin;
+        for (DamageType type : DamageType.values()) {
+            enabledOptions.put(type, Option.valueOf("CRITICAL_ENABLED_" + type.name()));
+        }
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void damageListener(DamageEvent event) {
-        DamageMeta meta = event.getDamageMeta();
-        Player attacker = meta.getAttackerAsPlayer();
+    public void register(DamagePipeline pipeline) {
+        pipeline.register(EventPriority.NORMAL, DamageRole.ATTACKER, null, this::critical);
+    }
 
-        if (attacker != null &&
-                plugin.configBoolean(Option.valueOf("CRITICAL_ENABLED_" + event.getDamageMeta().getDamageType().name()))) {
-            User user = plugin.getUser(attacker);
-            meta.addAttackModifier(getCrit(attacker, user));
+    private DamageModifier critical(DamageContext context, Player player, User user) {
+        if (!plugin.configBoolean(enabledOptions.get(context.getMeta().getDamageType()))) {
+            return DamageModifier.none();
         }
+        return getCrit(player, user);
     }
 
     private DamageModifier getCrit(Player player, User user) {
@@ -9,7 +9,9 @@ import dev.aurelium.auraskills.common.storage.sql.SqlStorageProvider;
 import dev.aurelium.auraskills.common.user.User;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
@@ -48,6 +50,16 @@ public class PlayerJoinQuit implements Listener {
         sendUpdateMessage(player);
     }
 
+    // LOWEST so trait handlers see levels for the new world
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onChangeWorld(PlayerChangedWorldEvent event) {
+        Player player = event.getPlayer();
+        if (!plugin.getUserManager().hasUser(player.getUniqueId())) {
+            return;
+        }
+        plugin.getUser(player).getUserStats().invalidateCache();
+    }
+
     @EventHandler
     public void onQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
@@ -56,6 +68,7 @@ public class PlayerJoinQuit implements Listener {
             return;
         }
         User user = plugin.getUser(player);
+        plugin.getLevelManager().getXpBatcher().flush(user); // Add batched xp before saving
 
         plugin.getScheduler().executeAsync(() -> {
             try {
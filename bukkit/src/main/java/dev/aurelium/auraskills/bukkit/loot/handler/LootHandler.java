@@ -17,6 +17,7 @@ import dev.aurelium.auraskills.common.commands.CommandExecutor;
 import dev.aurelium.auraskills.common.hooks.PlaceholderHook;
 import dev.aurelium.auraskills.common.loot.AbstractLootHandler;
 import dev.aurelium.auraskills.common.loot.CommandLoot;
+import dev.aurelium.auraskills.common.loot.CompiledLootPool;
 import dev.aurelium.auraskills.common.loot.SourceContext;
 import dev.aurelium.auraskills.common.message.MessageKey;
 import dev.aurelium.auraskills.common.user.User;
@@ -169,6 +170,14 @@ public abstract class LootHandler extends AbstractLootHandler {
     @Nullable
     protected Loot selectLoot(LootPool pool, @NotNull LootContext providedContext, User user) {
         UUID uuid = user.getUuid();
+        if (pool instanceof CompiledLootPool compiled) {
+            if (providedContext instanceof SourceContext(XpSource providedSource)) {
+                return compiled.selectLoot("sources", providedSource != null ? providedContext : null, uuid);
+            } else if (providedContext instanceof MobContext(EntityType providedType)) {
+                return compiled.selectLoot("mobs", providedType != null ? providedContext : null, uuid);
+            }
+            return compiled.selectLoot("", null, uuid);
+        }
         return pool.rollLoot(loot -> {
             if (!loot.checkRequirements(uuid)) return false;
 
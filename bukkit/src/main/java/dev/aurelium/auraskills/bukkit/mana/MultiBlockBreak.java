@@ -0,0 +1,192 @@
+package dev.aurelium.auraskills.bukkit.mana;
+
+import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.common.util.data.LongHashSet;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Breaks a connected group of blocks for mana abilities, spreading from an origin block to matching
+ * neighbors. Each block is only checked once, and breaking is spread over ticks with a maximum number
+ * of blocks per tick so large groups don't cause lag spikes.
+ *
+ * @param <T> the data the handler resolves for a matching block
+ */
+public class MultiBlockBreak<T> {
+
+    /**
+     * Offsets of all 26 blocks touching a block, including diagonals.
+     */
+    public static final int[][] SURROUNDING = surroundingOffsets();
+    /**
+     * Offsets of the four blocks next to a block on the same y level.
+     */
+    public static final int[][] HORIZONTAL = {{0, 0, -1}, {0, 0, 1}, {1, 0, 0}, {-1, 0, 0}};
+
+    private final AuraSkills plugin;
+    private final Handler<T> handler;
+    private final int[][] offsets;
+    private final int maxBlocks;
+    private final int blocksPerTick;
+    private final boolean layerPerTick;
+    private final LongHashSet visited = new LongHashSet(64);
+    private final ArrayDeque<Block> toSpread = new ArrayDeque<>();
+    private Block origin;
+    private int matched;
+    private int broken;
+
+    /**
+     * Creates a multi-block break.
+     *
+     * @param plugin the plugin
+     * @param handler the handler that decides which blocks are broken and breaks them
+     * @param offsets the offsets of the neighbors to spread to, such as {@link #SURROUNDING}
+     * @param maxBlocks the maximum number of matching blocks to break
+     * @param blocksPerTick the maximum number of blocks to break each tick
+     * @param layerPerTick whether to only spread one block further each tick, so the group visibly breaks
+     *                     outward from the origin. Otherwise breaking only waits for the next tick when
+     *                     the per tick limit is reached.
+     */
+    public MultiBlockBreak(AuraSkills plugin, Handler<T> handler, int[][] offsets, int maxBlocks, int blocksPerTick, boolean layerPerTick) {
+        this.plugin = plugin;
+        this.handler = handler;
+        this.offsets = offsets;
+        this.maxBlocks = maxBlocks;
+        this.blocksPerTick = Math.max(1, blocksPerTick);
+        this.layerPerTick = layerPerTick;
+    }
+
+    /**
+     * Starts breaking. The first batch of blocks is broken immediately.
+     *
+     * @param origin the block to spread from
+     * @param breakOrigin whether the origin block should also be matched and broken, false if it was
+     *                    already broken by the player
+     */
+    public void start(Block origin, boolean breakOrigin) {
+        this.origin = origin;
+        visited.add(key(origin));
+        if (breakOrigin) {
+            T data = handler.match(origin);
+            if (data == null) {
+                finish();
+                return;
+            }
+            matched++;
+            if (handler.breakBlock(origin, data)) {
+                broken++;
+            }
+        }
+        toSpread.add(origin);
+        tick();
+    }
+
+    private void tick() {
+        int budget = blocksPerTick;
+        // Blocks added during this tick are spread from in the next tick
+        int remainingInLayer = layerPerTick ? toSpread.size() : Integer.MAX_VALUE;
+        Block block;
+        while (budget > 0 && remainingInLayer > 0 && matched < maxBlocks && (block = toSpread.poll()) != null) {
+            remainingInLayer--;
+            budget -= spread(block, budget);
+        }
+        if (matched >= maxBlocks || toSpread.isEmpty()) {
+            finish();
+            return;
+        }
+        plugin.getScheduler().scheduleAtLocation(origin.getLocation(), this::tick, 50, TimeUnit.MILLISECONDS);
+    }
+
+    private int spread(Block block, int budget) {
+        int used = 0;
+        for (int[] offset : offsets) {
+            if (matched >= maxBlocks) break;
+
+            Block adjacent = block.getRelative(offset[0], offset[1], offset[2]);
+            if (!visited.add(key(adjacent))) continue;
+
+            T data = handler.match(adjacent);
+            if (data == null) continue;
+
+            matched++;
+            used++;
+            if (handler.breakBlock(adjacent, data)) {
+                broken++;
+            }
+            if (handler.canSpread(origin, adjacent)) {
+                toSpread.add(adjacent);
+            }
+        }
+        // A block's neighbors are always handled together, so the last block of a tick may go over the budget
+        return Math.min(used, budget);
+    }
+
+    private void finish() {
+        toSpread.clear();
+        handler.onFinish(broken);
+    }
+
+    private static long key(Block block) {
+        return ((long) (block.getX() & 0x3FFFFFF) << 38) | ((long) (block.getZ() & 0x3FFFFFF) << 12) | (block.getY() & 0xFFF);
+    }
+
+    private static int[][] surroundingOffsets() {
+        int[][] offsets = new int[26][];
+        int i = 0;
+        for (int x = -1; x <= 1; x++) {
+            for (int z = -1; z <= 1; z++) {
+                for (int y = 1; y >= -1; y--) {
+                    if (x == 0 && y == 0 && z == 0) {
+                        continue;
+                    }
+                    offsets[i++] = new int[]{x, y, z};
+                }
+            }
+        }
+        return offsets;
+    }
+
+    public interface Handler<T> {
+
+        /**
+         * Checks whether a block should be broken.
+         *
+         * @param block the block
+         * @return data passed to {@link #breakBlock} if the block should be broken, or null if not
+         */
+        @Nullable
+        T match(Block block);
+
+        /**
+         * Breaks a matching block.
+         *
+         * @param block the block
+         * @param data the data returned by {@link #match}
+         * @return whether the block was actually broken
+         */
+        boolean breakBlock(Block block, T data);
+
+        /**
+         * Checks whether to spread to the neighbors of a matching block.
+         *
+         * @param origin the origin block
+         * @param block the matching block
+         * @return whether to spread from the block
+         */
+        default boolean canSpread(Block origin, Block block) {
+            return true;
+        }
+
+        /**
+         * Called once after all blocks are broken.
+         *
+         * @param blocksBroken the number of blocks that were actually broken
+         */
+        void onFinish(int blocksBroken);
+
+    }
+
+}
@@ -5,7 +5,6 @@ import dev.aurelium.auraskills.api.source.type.BlockXpSource;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.bukkit.source.BlockLeveler;
 import dev.aurelium.auraskills.common.region.*;
-import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.jetbrains.annotations.Nullable;
@@ -22,20 +21,27 @@ public class BukkitRegionManager extends RegionManager {
     }
 
     public boolean isPlacedBlock(Block block) {
-        int chunkX = block.getChunk().getX();
-        int chunkZ = block.getChunk().getZ();
-
-        int regionX = (int) Math.floor((double) chunkX / 32.0);
-        int regionZ = (int) Math.floor((double) chunkZ / 32.0);
+        return isPlacedBlock(block.getWorld(), block.getX(), block.getY(), block.getZ());
+    }
 
-        Region region = regions.get(new RegionCoordinate(block.getWorld().getName(), regionX, regionZ));
+    /**
+     * Checks whether a block was placed by a player without allocating when the block's
+     * region is the same as the last looked up region.
+     *
+     * @param world the world of the block
+     * @param x the block x
+     * @param y the block y
+     * @param z the block z
+     * @return whether the block is a placed block
+     */
+    public boolean isPlacedBlock(World world, int x, int y, int z) {
+        int chunkX = x >> 4;
+        int chunkZ = z >> 4;
+        Region region = getRegion(world.getName(), chunkX >> 5, chunkZ >> 5);
         if (region != null) {
-            byte regionChunkX = (byte) (chunkX - regionX * 32);
-            byte regionChunkZ = (byte) (chunkZ - regionZ * 32);
-            ChunkData chunkData = region.getChunkData(new ChunkCoordinate(regionChunkX, regionChunkZ));
+            ChunkData chunkData = region.getChunkData(chunkX & 31, chunkZ & 31);
             if (chunkData != null) {
-                BlockPosition blockPosition = new BlockPosition(block.getX(), block.getY(), block.getZ());
-                return chunkData.isPlacedBlock(blockPosition);
+                return chunkData.isPlacedBlock(x, y, z);
             }
         }
         return false;
@@ -63,74 +69,24 @@ public class BukkitRegionManager extends RegionManager {
     }
 
     public void addPlacedBlock(Block block) {
-        Region region = getRegionFromBlock(block);
-        // Create region if it does not exist
-        if (region == null || region.shouldReload()) {
-            addLoadRegionAsync(block);
-        } else {
-            addToRegion(block, region);
-        }
-    }
-
-    private void addLoadRegionAsync(Block block) {
-        plugin.getScheduler().executeAsync(() -> {
-            Region region = getRegionFromBlock(block);
-            if (region == null) {
-                int regionX = (int) Math.floor((double) block.getChunk().getX() / 32.0);
-                int regionZ = (int) Math.floor((double) block.getChunk().getZ() / 32.0);
-                region = new Region(block.getWorld().getName(), regionX, regionZ);
-
-                RegionCoordinate regionCoordinate = new RegionCoordinate(block.getWorld().getName(), regionX, regionZ);
-                regions.put(regionCoordinate, region);
-            }
-            loadRegion(region);
-            addToRegion(block, region);
-        });
-    }
-
-    private void addToRegion(Block block, Region region) {
-        byte regionChunkX = (byte) (block.getChunk().getX() - region.getX() * 32);
-        byte regionChunkZ = (byte) (block.getChunk().getZ() - region.getZ() * 32);
-        ChunkData chunkData = region.getChunkData(new ChunkCoordinate(regionChunkX, regionChunkZ));
-        // Create chunk data if it does not exist
-        if (chunkData == null) {
-            chunkData = new ChunkData(region, regionChunkX, regionChunkZ);
-            region.setChunkData(new ChunkCoordinate(regionChunkX, regionChunkZ), chunkData);
+        // Loads the region if it is not in memory, the block is added once loading finishes
+        Region region = getOrLoadRegion(block.getWorld().getName(), block.getX() >> 9, block.getZ() >> 9);
+        while (!region.addPlacedBlock(block.getX(), block.getY(), block.getZ())) {
+            // The region was unloaded after it was looked up, so add to the newly loaded one
+            region = getOrLoadRegion(block.getWorld().getName(), block.getX() >> 9, block.getZ() >> 9);
         }
-        chunkData.addPlacedBlock(new BlockPosition(block.getX(), block.getY(), block.getZ()));
     }
 
     public void removePlacedBlock(Block block) {
         Region region = getRegionFromBlock(block);
-        if (region != null) {
-            byte regionChunkX = (byte) (block.getChunk().getX() - region.getX() * 32);
-            byte regionChunkZ = (byte) (block.getChunk().getZ() - region.getZ() * 32);
-            ChunkData chunkData = region.getChunkData(new ChunkCoordinate(regionChunkX, regionChunkZ));
-            if (chunkData != null) {
-                chunkData.removePlacedBlock(new BlockPosition(block.getX(), block.getY(), block.getZ()));
-            }
+        while (region != null && !region.removePlacedBlock(block.getX(), block.getY(), block.getZ())) {
+            region = getRegionFromBlock(block);
         }
     }
 
     @Nullable
     private Region getRegionFromBlock(Block block) {
-        int chunkX = block.getChunk().getX();
-        int chunkZ = block.getChunk().getZ();
-
-        int regionX = (int) Math.floor((double) chunkX / 32.0);
-        int regionZ = (int) Math.floor((double) chunkZ / 32.0);
-
-        RegionCoordinate regionCoordinate = new RegionCoordinate(block.getWorld().getName(), regionX, regionZ);
-        return regions.get(regionCoordinate);
-    }
-
-    @Override
-    public boolean isChunkLoaded(String worldName, int chunkX, int chunkZ) {
-        World world = Bukkit.getWorld(worldName);
-        if (world == null) {
-            return false;
-        }
-        return world.isChunkLoaded(chunkX, chunkZ);
+        return getRegion(block.getWorld().getName(), block.getX() >> 9, block.getZ() >> 9);
     }
 
 }
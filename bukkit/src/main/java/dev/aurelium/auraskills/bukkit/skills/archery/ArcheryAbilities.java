@@ -2,13 +2,12 @@ package dev.aurelium.auraskills.bukkit.skills.archery;
 
 import dev.aurelium.auraskills.api.ability.Abilities;
 import dev.aurelium.auraskills.api.ability.Ability;
-import dev.aurelium.auraskills.api.damage.DamageMeta;
 import dev.aurelium.auraskills.api.damage.DamageModifier;
 import dev.aurelium.auraskills.api.damage.DamageType;
-import dev.aurelium.auraskills.api.event.damage.DamageEvent;
 import dev.aurelium.auraskills.api.util.NumberUtil;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.bukkit.ability.BukkitAbilityImpl;
+import dev.aurelium.auraskills.bukkit.damage.DamageRole;
 import dev.aurelium.auraskills.bukkit.util.AttributeCompat;
 import dev.aurelium.auraskills.bukkit.util.CompatUtil;
 import dev.aurelium.auraskills.bukkit.util.VersionUtils;
@@ -46,6 +45,7 @@ public class ArcheryAbilities extends BukkitAbilityImpl {
 
     public ArcheryAbilities(AuraSkills plugin) {
         super(plugin, Abilities.RETRIEVAL, Abilities.ARCHER, Abilities.BOW_MASTER, Abilities.PIERCING, Abilities.STUN);
+        plugin.getDamagePipeline().register(EventPriority.NORMAL, DamageRole.ATTACKER, DamageType.BOW, (context, player, user) -> bowMaster(player, user));
     }
 
     private DamageModifier bowMaster(Player player, User user) {
@@ -58,19 +58,6 @@ public class ArcheryAbilities extends BukkitAbilityImpl {
         return new DamageModifier(getValue(ability, user) / 100, DamageModifier.Operation.ADD_COMBINED);
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void damageListener(DamageEvent event) {
-        DamageMeta meta = event.getDamageMeta();
-        Player attacker = meta.getAttackerAsPlayer();
-
-        if (attacker != null) {
-            User user = plugin.getUser(attacker);
-            if (meta.getDamageType() == DamageType.BOW) {
-                meta.addAttackModifier(bowMaster(attacker, user));
-            }
-        }
-    }
-
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void archeryListener(EntityDamageByEntityEvent event) {
         if (!(event.getDamager() instanceof Arrow arrow)) return;
@@ -1,12 +1,11 @@
 package dev.aurelium.auraskills.bukkit.skills.archery;
 
-import dev.aurelium.auraskills.api.damage.DamageMeta;
 import dev.aurelium.auraskills.api.damage.DamageModifier;
 import dev.aurelium.auraskills.api.damage.DamageType;
-import dev.aurelium.auraskills.api.event.damage.DamageEvent;
 import dev.aurelium.auraskills.api.mana.ManaAbilities;
 import dev.aurelium.auraskills.api.util.NumberUtil;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.bukkit.damage.DamageRole;
 import dev.aurelium.auraskills.bukkit.mana.ManaAbilityProvider;
 import dev.aurelium.auraskills.common.ability.AbilityData;
 import dev.aurelium.auraskills.common.mana.ManaAbilityData;
@@ -19,11 +18,13 @@ import org.bukkit.Sound;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.entity.EntityShootBowEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.metadata.FixedMetadataValue;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Locale;
 import java.util.concurrent.TimeUnit;
@@ -33,6 +34,9 @@ public class ChargedShot extends ManaAbilityProvider {
     public ChargedShot(AuraSkills plugin) {
         super(plugin, ManaAbilities.CHARGED_SHOT, ManaAbilityMessage.CHARGED_SHOT_SHOOT, null);
         tickChargedShotCooldown();
+        // The multiplier is stored on the projectile, which is the attacker entity of the hit
+        plugin.getDamagePipeline().register(EventPriority.NORMAL, DamageRole.ATTACKER, DamageType.BOW,
+                (context, player, user) -> applyChargedShot(context.getMeta().getAttacker()));
     }
 
     @Override
@@ -139,18 +143,8 @@ public class ChargedShot extends ManaAbilityProvider {
         }
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void damageListener(DamageEvent event) {
-        DamageMeta meta = event.getDamageMeta();
-        Entity attacker = meta.getAttacker();
-
-        if (attacker != null && meta.getDamageType() == DamageType.BOW) {
-            meta.addAttackModifier(applyChargedShot(attacker));
-        }
-    }
-
-    private DamageModifier applyChargedShot(Entity attacker) {
-        if (!attacker.hasMetadata("ChargedShotMultiplier")) {
+    private DamageModifier applyChargedShot(@Nullable Entity attacker) {
+        if (attacker == null || !attacker.hasMetadata("ChargedShotMultiplier")) {
             return DamageModifier.none();
         }
         double multiplier = attacker.getMetadata("ChargedShotMultiplier").get(0).asDouble();
@@ -3,9 +3,10 @@ package dev.aurelium.auraskills.bukkit.skills.defense;
 import dev.aurelium.auraskills.api.ability.Abilities;
 import dev.aurelium.auraskills.api.damage.DamageMeta;
 import dev.aurelium.auraskills.api.damage.DamageModifier;
-import dev.aurelium.auraskills.api.event.damage.DamageEvent;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.bukkit.ability.BukkitAbilityImpl;
+import dev.aurelium.auraskills.bukkit.damage.DamagePipeline;
+import dev.aurelium.auraskills.bukkit.damage.DamageRole;
 import dev.aurelium.auraskills.bukkit.util.CompatUtil;
 import dev.aurelium.auraskills.bukkit.util.VersionUtils;
 import dev.aurelium.auraskills.common.user.User;
@@ -13,6 +14,7 @@ import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.PotionSplashEvent;
 import org.bukkit.inventory.ItemStack;
@@ -27,6 +29,9 @@ public class DefenseAbilities extends BukkitAbilityImpl {
 
     public DefenseAbilities(AuraSkills plugin) {
         super(plugin, Abilities.SHIELDING, Abilities.DEFENDER, Abilities.MOB_MASTER, Abilities.IMMUNITY, Abilities.NO_DEBUFF);
+        DamagePipeline pipeline = plugin.getDamagePipeline();
+        pipeline.register(EventPriority.NORMAL, DamageRole.TARGET, null, (context, player, user) -> mobMaster(context.getMeta(), user, player));
+        pipeline.register(EventPriority.NORMAL, DamageRole.TARGET, null, (context, player, user) -> shielding(user, player));
     }
 
     public DamageModifier shielding(User user, Player player) {
@@ -150,16 +155,4 @@ public class DefenseAbilities extends BukkitAbilityImpl {
         immunity(event, user, player);
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void damageListener(DamageEvent event) {
-        var meta = event.getDamageMeta();
-        var target = meta.getTargetAsPlayer();
-
-        if (target != null) {
-            var user = plugin.getUser(target);
-            meta.addDefenseModifier(mobMaster(meta, user, target));
-            meta.addDefenseModifier(shielding(user, target));
-        }
-    }
-
 }
@@ -3,17 +3,18 @@ package dev.aurelium.auraskills.bukkit.skills.excavation;
 import dev.aurelium.auraskills.api.ability.Abilities;
 import dev.aurelium.auraskills.api.damage.DamageModifier;
 import dev.aurelium.auraskills.api.damage.DamageType;
-import dev.aurelium.auraskills.api.event.damage.DamageEvent;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.bukkit.ability.BukkitAbilityImpl;
+import dev.aurelium.auraskills.bukkit.damage.DamageRole;
 import dev.aurelium.auraskills.common.user.User;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 
 public class ExcavationAbilities extends BukkitAbilityImpl {
 
     public ExcavationAbilities(AuraSkills plugin) {
         super(plugin, Abilities.METAL_DETECTOR, Abilities.EXCAVATOR, Abilities.SPADE_MASTER, Abilities.BIGGER_SCOOP, Abilities.LUCKY_SPADES);
+        plugin.getDamagePipeline().register(EventPriority.NORMAL, DamageRole.ATTACKER, DamageType.SHOVEL, (context, player, user) -> spadeMaster(player, user));
     }
 
     private DamageModifier spadeMaster(Player player, User user) {
@@ -26,17 +27,4 @@ public class ExcavationAbilities extends BukkitAbilityImpl {
         return new DamageModifier(getValue(ability, user) / 100, DamageModifier.Operation.ADD_COMBINED);
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void damageListener(DamageEvent event) {
-        var meta = event.getDamageMeta();
-        var attacker = meta.getAttackerAsPlayer();
-
-        if (attacker != null) {
-            if (meta.getDamageType() == DamageType.SHOVEL) {
-                var user = plugin.getUser(attacker);
-                meta.addAttackModifier(spadeMaster(attacker, user));
-            }
-        }
-    }
-
 }
@@ -6,6 +6,7 @@ import dev.aurelium.auraskills.api.source.XpSource;
 import dev.aurelium.auraskills.api.source.type.BlockXpSource;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.bukkit.hooks.TownyHook;
+import dev.aurelium.auraskills.bukkit.mana.MultiBlockBreak;
 import dev.aurelium.auraskills.bukkit.mana.ReadiedManaAbility;
 import dev.aurelium.auraskills.bukkit.source.BlockLeveler;
 import dev.aurelium.auraskills.common.message.type.ManaAbilityMessage;
@@ -16,14 +17,12 @@ import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.block.Block;
-import org.bukkit.block.BlockFace;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.metadata.FixedMetadataValue;
-
-import java.util.LinkedList;
+import org.jetbrains.annotations.Nullable;
 
 public class Terraform extends ReadiedManaAbility {
 
@@ -89,42 +88,52 @@ public class Terraform extends ReadiedManaAbility {
     }
 
     private void terraformBreak(Player player, Block block) {
-        Material material = block.getType();
-        BlockFace[] faces = new BlockFace[]{BlockFace.NORTH, BlockFace.SOUTH, BlockFace.EAST, BlockFace.WEST};
-        LinkedList<Block> toCheck = new LinkedList<>();
-        toCheck.add(block);
-
-        int count = 0;
         int maxCount = manaAbility.optionInt("max_blocks", 61);
         if (manaAbility.optionBoolean("max_limit_durability", false)) {
             maxCount = getHoldingMaterialDurability(player, maxCount);
         }
+        TerraformArea area = new TerraformArea(player, block.getType());
+        new MultiBlockBreak<>(plugin, area, MultiBlockBreak.HORIZONTAL, maxCount,
+                manaAbility.optionInt("blocks_per_tick", 64), false).start(block, true);
+    }
 
-        while ((block = toCheck.poll()) != null && count < maxCount) {
-            if (block.getType() == material) {
-                block.setMetadata("AureliumSkills-Terraform", new FixedMetadataValue(plugin, true));
-                breakBlock(player, block);
-                for (BlockFace face : faces) {
-                    toCheck.add(block.getRelative(face));
-                }
-                count++;
-            }
+    private class TerraformArea implements MultiBlockBreak.Handler<Material> {
+
+        private final Player player;
+        private final Material material;
+
+        private TerraformArea(Player player, Material material) {
+            this.player = player;
+            this.material = material;
         }
 
-        setHoldingMaterialDurability(player, count, manaAbility.optionDouble("durability_multiplier", 0));
-    }
+        @Override
+        @Nullable
+        public Material match(Block block) {
+            return block.getType() == material ? material : null;
+        }
 
-    private void breakBlock(Player player, Block block) {
-        if (plugin.getHookManager().isRegistered(TownyHook.class) && !plugin.getHookManager().getHook(TownyHook.class).canBreak(player, block)) {
+        @Override
+        public boolean breakBlock(Block block, Material data) {
+            if (plugin.getHookManager().isRegistered(TownyHook.class) && !plugin.getHookManager().getHook(TownyHook.class).canBreak(player, block)) {
+                return false;
+            }
+            block.setMetadata("AureliumSkills-Terraform", new FixedMetadataValue(plugin, true));
+            TerraformBlockBreakEvent event = new TerraformBlockBreakEvent(block, player);
+            Bukkit.getPluginManager().callEvent(event);
+            boolean broken = !event.isCancelled();
+            if (broken) {
+                block.breakNaturally(player.getInventory().getItemInMainHand());
+            }
             block.removeMetadata("AureliumSkills-Terraform", plugin);
-            return;
+            return broken;
         }
-        TerraformBlockBreakEvent event = new TerraformBlockBreakEvent(block, player);
-        Bukkit.getPluginManager().callEvent(event);
-        if (!event.isCancelled()) {
-            block.breakNaturally(player.getInventory().getItemInMainHand());
+
+        @Override
+        public void onFinish(int blocksBroken) {
+            setHoldingMaterialDurability(player, blocksBroken, manaAbility.optionDouble("durability_multiplier", 0));
         }
-        block.removeMetadata("AureliumSkills-Terraform", plugin);
+
     }
 
 }
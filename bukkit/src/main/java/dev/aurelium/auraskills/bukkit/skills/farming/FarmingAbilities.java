@@ -4,9 +4,9 @@ import dev.aurelium.auraskills.api.ability.Abilities;
 import dev.aurelium.auraskills.api.ability.Ability;
 import dev.aurelium.auraskills.api.damage.DamageModifier;
 import dev.aurelium.auraskills.api.damage.DamageType;
-import dev.aurelium.auraskills.api.event.damage.DamageEvent;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.bukkit.ability.BukkitAbilityImpl;
+import dev.aurelium.auraskills.bukkit.damage.DamageRole;
 import dev.aurelium.auraskills.common.user.User;
 import dev.aurelium.auraskills.common.util.text.TextUtil;
 import org.bukkit.Location;
@@ -32,6 +32,7 @@ public class FarmingAbilities extends BukkitAbilityImpl {
 
     public FarmingAbilities(AuraSkills plugin) {
         super(plugin, Abilities.BOUNTIFUL_HARVEST, Abilities.FARMER, Abilities.GENETICIST, Abilities.SCYTHE_MASTER, Abilities.GROWTH_AURA);
+        plugin.getDamagePipeline().register(EventPriority.NORMAL, DamageRole.ATTACKER, DamageType.HOE, (context, player, user) -> scytheMaster(player, user));
     }
 
     @EventHandler
@@ -77,19 +78,6 @@ public class FarmingAbilities extends BukkitAbilityImpl {
         return input;
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void damageListener(DamageEvent event) {
-        var meta = event.getDamageMeta();
-        var attacker = meta.getAttackerAsPlayer();
-
-        if (attacker != null) {
-            if (meta.getDamageType() == DamageType.HOE) {
-                var user = plugin.getUser(attacker);
-                meta.addAttackModifier(scytheMaster(attacker, user));
-            }
-        }
-    }
-
     @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
     public void onCropGrowth(BlockGrowEvent event) {
         var ability = Abilities.GROWTH_AURA;
@@ -2,12 +2,14 @@ package dev.aurelium.auraskills.bukkit.skills.fighting;
 
 import dev.aurelium.auraskills.api.ability.Abilities;
 import dev.aurelium.auraskills.api.ability.Ability;
+import dev.aurelium.auraskills.api.damage.DamageMeta;
 import dev.aurelium.auraskills.api.damage.DamageModifier;
 import dev.aurelium.auraskills.api.damage.DamageType;
-import dev.aurelium.auraskills.api.event.damage.DamageEvent;
 import dev.aurelium.auraskills.api.util.NumberUtil;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.bukkit.ability.BukkitAbilityImpl;
+import dev.aurelium.auraskills.bukkit.damage.DamagePipeline;
+import dev.aurelium.auraskills.bukkit.damage.DamageRole;
 import dev.aurelium.auraskills.bukkit.util.CompatUtil;
 import dev.aurelium.auraskills.common.ability.AbilityData;
 import dev.aurelium.auraskills.common.message.type.AbilityMessage;
@@ -43,6 +45,14 @@ public class FightingAbilities extends BukkitAbilityImpl {
 
     public FightingAbilities(AuraSkills plugin) {
         super(plugin, Abilities.PARRY, Abilities.FIGHTER, Abilities.SWORD_MASTER, Abilities.FIRST_STRIKE, Abilities.BLEED);
+        DamagePipeline pipeline = plugin.getDamagePipeline();
+        pipeline.register(EventPriority.NORMAL, DamageRole.ATTACKER, DamageType.SWORD, (context, player, user) -> swordMaster(player, user));
+        pipeline.register(EventPriority.NORMAL, DamageRole.ATTACKER, DamageType.SWORD, (context, player, user) -> firstStrike(user, player));
+        pipeline.register(EventPriority.NORMAL, DamageRole.TARGET, null, (context, player, user) -> {
+            // Parry only applies to attacks from players
+            if (context.getAttacker() == null) return DamageModifier.none();
+            return handleParry(context.getMeta(), player, user);
+        });
     }
 
     @Override
@@ -129,25 +139,6 @@ public class FightingAbilities extends BukkitAbilityImpl {
         }
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void damageListener(DamageEvent event) {
-        var meta = event.getDamageMeta();
-        var attacker = meta.getAttackerAsPlayer();
-        var target = meta.getTargetAsPlayer();
-
-        if (attacker != null) {
-            if (meta.getDamageType() == DamageType.SWORD) {
-                var user = plugin.getUser(attacker);
-                meta.addAttackModifier(swordMaster(attacker, user));
-                meta.addAttackModifier(firstStrike(user, attacker));
-            }
-            if (target != null) {
-                var user = plugin.getUser(target);
-                meta.addDefenseModifier(handleParry(event, target, user));
-            }
-        }
-    }
-
     public void checkBleed(EntityDamageByEntityEvent event, User user, LivingEntity entity, Ability ability) {
         if (rand.nextDouble() < (getValue(ability, user) / 100)) {
             // Return if damage is fatal
@@ -292,14 +283,14 @@ public class FightingAbilities extends BukkitAbilityImpl {
         scheduleUnready(user);
     }
 
-    public DamageModifier handleParry(DamageEvent event, Player player, User user) {
+    public DamageModifier handleParry(DamageMeta meta, Player player, User user) {
         var ability = Abilities.PARRY;
         if (failsChecks(player, ability)) return DamageModifier.none();
         // Return if not parry ready
         if (!user.metadataBoolean(parryKey)) return DamageModifier.none();
 
-        if (event.getDamageMeta().getAttacker() != null &&
-                !isFacingCloseEnough(user, player, event.getDamageMeta().getAttacker())) {
+        if (meta.getAttacker() != null &&
+                !isFacingCloseEnough(user, player, meta.getAttacker())) {
             return DamageModifier.none();
         }
 
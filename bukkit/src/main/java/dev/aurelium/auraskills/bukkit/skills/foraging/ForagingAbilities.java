@@ -3,7 +3,6 @@ package dev.aurelium.auraskills.bukkit.skills.foraging;
 import dev.aurelium.auraskills.api.ability.Abilities;
 import dev.aurelium.auraskills.api.damage.DamageModifier;
 import dev.aurelium.auraskills.api.damage.DamageType;
-import dev.aurelium.auraskills.api.event.damage.DamageEvent;
 import dev.aurelium.auraskills.api.event.item.ItemDisableEvent;
 import dev.aurelium.auraskills.api.event.item.ItemEnableEvent;
 import dev.aurelium.auraskills.api.event.item.ItemToggleEvent;
@@ -13,6 +12,7 @@ import dev.aurelium.auraskills.api.stat.Stats;
 import dev.aurelium.auraskills.api.util.AuraSkillsModifier.Operation;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.bukkit.ability.BukkitAbilityImpl;
+import dev.aurelium.auraskills.bukkit.damage.DamageRole;
 import dev.aurelium.auraskills.bukkit.user.BukkitUser;
 import dev.aurelium.auraskills.bukkit.util.ItemUtils;
 import dev.aurelium.auraskills.common.user.User;
@@ -28,6 +28,7 @@ public class ForagingAbilities extends BukkitAbilityImpl {
 
     public ForagingAbilities(AuraSkills plugin) {
         super(plugin, Abilities.LUMBERJACK, Abilities.FORAGER, Abilities.AXE_MASTER, Abilities.SHREDDER, Abilities.VALOR);
+        plugin.getDamagePipeline().register(EventPriority.NORMAL, DamageRole.ATTACKER, DamageType.AXE, (context, player, user) -> axeMaster(player, user));
     }
 
     private DamageModifier axeMaster(Player player, User user) {
@@ -40,19 +41,6 @@ public class ForagingAbilities extends BukkitAbilityImpl {
         return new DamageModifier(getValue(ability, user) / 100, DamageModifier.Operation.ADD_COMBINED);
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void damageListener(DamageEvent event) {
-        var meta = event.getDamageMeta();
-        var attacker = meta.getAttackerAsPlayer();
-
-        if (attacker != null) {
-            if (meta.getDamageType() == DamageType.AXE) {
-                var user = plugin.getUser(attacker);
-                meta.addAttackModifier(axeMaster(attacker, user));
-            }
-        }
-    }
-
     @EventHandler(priority = EventPriority.HIGH)
     public void shredder(PlayerItemDamageEvent event) {
         var ability = Abilities.SHREDDER;
@@ -7,9 +7,9 @@ import dev.aurelium.auraskills.api.registry.NamespacedId;
 import dev.aurelium.auraskills.api.source.XpSource;
 import dev.aurelium.auraskills.api.source.type.BlockXpSource;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.bukkit.mana.MultiBlockBreak;
 import dev.aurelium.auraskills.bukkit.mana.ReadiedManaAbility;
 import dev.aurelium.auraskills.bukkit.source.BlockLeveler;
-import dev.aurelium.auraskills.bukkit.util.BlockFaceUtil;
 import dev.aurelium.auraskills.common.message.type.ManaAbilityMessage;
 import dev.aurelium.auraskills.common.source.SourceTag;
 import dev.aurelium.auraskills.common.source.type.BlockSource;
@@ -26,9 +26,9 @@ import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.metadata.FixedMetadataValue;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.LinkedHashMap;
 import java.util.Locale;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Map;
 
 public class Treecapitator extends ReadiedManaAbility {
 
@@ -110,65 +110,15 @@ public class Treecapitator extends ReadiedManaAbility {
     }
 
     public void breakTree(Player player, User user, Block block, BlockXpSource source) {
-        AtomicInteger taskCount = new AtomicInteger(1);
-        TreecapitatorTree tree = new TreecapitatorTree(block, source);
-        double multiplier = manaAbility.optionDouble("durability_multiplier", 0);
+        TreecapitatorTree tree = new TreecapitatorTree(player, user, source);
 
         // Make sure the max blocks does not exceed the durability, when applicable.
         if (manaAbility.optionBoolean("max_limit_durability", false)) {
             tree.setMaxBlocks(getHoldingMaterialDurability(player, tree.getMaxBlocks()));
         }
 
-        breakBlock(player, user, block, tree, taskCount, () -> {
-            taskCount.decrementAndGet();
-            if (taskCount.get() == 0) {
-                setHoldingMaterialDurability(player, tree.getBlocksBroken(), multiplier);
-            }
-        });
-    }
-
-    private void breakBlock(Player player, User user, Block block, TreecapitatorTree tree, AtomicInteger taskCount, Runnable onComplete) {
-        if (tree.getBlocksBroken() > tree.getMaxBlocks()) {
-            onComplete.run();
-            return;
-        }
-        for (Block adjacentBlock : BlockFaceUtil.getSurroundingBlocks(block)) {
-            BlockXpSource adjSource = getSource(adjacentBlock);
-            if (!plugin.getSkillManager().hasTag(adjSource, SourceTag.TREECAPITATOR_APPLICABLE))
-                continue; // Check block is leaf or trunk
-            // Make sure block was not placed
-            if (plugin.getRegionManager().isPlacedBlock(adjacentBlock)) {
-                continue;
-            }
-
-            if (manaAbility.optionBoolean("call_block_break_event", false)) {
-                adjacentBlock.setMetadata("AureliumSkills-Treecapitator", new FixedMetadataValue(plugin, true));
-                ManaAbilityBlockBreakEvent event = new ManaAbilityBlockBreakEvent(adjacentBlock, player);
-                Bukkit.getPluginManager().callEvent(event);
-                if (!event.isCancelled()) {
-                    adjacentBlock.breakNaturally(player.getInventory().getItemInMainHand());
-                }
-                adjacentBlock.removeMetadata("AureliumSkills-Treecapitator", plugin);
-            } else {
-                adjacentBlock.breakNaturally();
-            }
-
-            tree.incrementBlocksBroken();
-            if (adjSource != null && giveXp) {
-                plugin.getLevelManager().addXp(user, manaAbility.getSkill(), adjSource, adjSource.getXp());
-            }
-            // Continue breaking blocks
-            Block originalBlock = tree.getOriginalBlock();
-            if (adjacentBlock.getX() > originalBlock.getX() + 6 || adjacentBlock.getZ() > originalBlock.getZ() + 6 || adjacentBlock.getY() > originalBlock.getY() + 31) {
-                onComplete.run();
-                return;
-            }
-            // Break the next blocks
-            taskCount.incrementAndGet();
-            plugin.getScheduler().scheduleAtLocation(adjacentBlock.getLocation(), () -> breakBlock(player, user, adjacentBlock, tree, taskCount, onComplete), 50, TimeUnit.MILLISECONDS);
-        }
-
-        onComplete.run();
+        new MultiBlockBreak<>(plugin, tree, MultiBlockBreak.SURROUNDING, tree.getMaxBlocks(),
+                manaAbility.optionInt("blocks_per_tick", 64), true).start(block, false);
     }
 
     @Nullable
@@ -199,27 +149,70 @@ public class Treecapitator extends ReadiedManaAbility {
         return null;
     }
 
-    private static class TreecapitatorTree {
+    private class TreecapitatorTree implements MultiBlockBreak.Handler<BlockXpSource> {
 
-        private final Block originalBlock;
-        private int blocksBroken;
+        private final Player player;
+        private final User user;
+        private final boolean callEvent;
+        private final Map<BlockXpSource, Double> xpBySource = new LinkedHashMap<>();
         private int maxBlocks;
 
-        public TreecapitatorTree(Block originalBlock, BlockXpSource source) {
-            this.originalBlock = originalBlock;
+        public TreecapitatorTree(Player player, User user, BlockXpSource source) {
+            this.player = player;
+            this.user = user;
+            this.callEvent = manaAbility.optionBoolean("call_block_break_event", false);
             setMaxBlocks(source);
         }
 
-        public Block getOriginalBlock() {
-            return originalBlock;
+        @Override
+        @Nullable
+        public BlockXpSource match(Block block) {
+            BlockXpSource source = getSource(block);
+            if (!plugin.getSkillManager().hasTag(source, SourceTag.TREECAPITATOR_APPLICABLE)) {
+                return null; // Check block is leaf or trunk
+            }
+            // Make sure block was not placed
+            if (plugin.getRegionManager().isPlacedBlock(block)) {
+                return null;
+            }
+            return source;
         }
 
-        public int getBlocksBroken() {
-            return blocksBroken;
+        @Override
+        public boolean breakBlock(Block block, BlockXpSource source) {
+            boolean broken = true;
+            if (callEvent) {
+                block.setMetadata("AureliumSkills-Treecapitator", new FixedMetadataValue(plugin, true));
+                ManaAbilityBlockBreakEvent event = new ManaAbilityBlockBreakEvent(block, player);
+                Bukkit.getPluginManager().callEvent(event);
+                if (!event.isCancelled()) {
+                    block.breakNaturally(player.getInventory().getItemInMainHand());
+                } else {
+                    broken = false;
+                }
+                block.removeMetadata("AureliumSkills-Treecapitator", plugin);
+            } else {
+                block.breakNaturally();
+            }
+            if (broken && giveXp) {
+                xpBySource.merge(source, source.getXp(), Double::sum);
+            }
+            return broken;
         }
 
-        public void incrementBlocksBroken() {
-            blocksBroken++;
+        @Override
+        public boolean canSpread(Block origin, Block block) {
+            return Math.abs(block.getX() - origin.getX()) <= 6 && Math.abs(block.getZ() - origin.getZ()) <= 6
+                    && block.getY() <= origin.getY() + 31;
+        }
+
+        @Override
+        public void onFinish(int blocksBroken) {
+            // Grant the xp of all blocks at once instead of per block
+            for (Map.Entry<BlockXpSource, Double> entry : xpBySource.entrySet()) {
+                plugin.getLevelManager().addXp(user, manaAbility.getSkill(), entry.getKey(), entry.getValue());
+            }
+            setHoldingMaterialDurability(player, blocksBroken, manaAbility.optionDouble("durability_multiplier", 0));
         }
 
         public int getMaxBlocks() {
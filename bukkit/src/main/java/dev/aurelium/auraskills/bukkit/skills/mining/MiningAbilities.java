@@ -3,7 +3,6 @@ package dev.aurelium.auraskills.bukkit.skills.mining;
 import dev.aurelium.auraskills.api.ability.Abilities;
 import dev.aurelium.auraskills.api.damage.DamageModifier;
 import dev.aurelium.auraskills.api.damage.DamageType;
-import dev.aurelium.auraskills.api.event.damage.DamageEvent;
 import dev.aurelium.auraskills.api.event.item.ItemDisableEvent;
 import dev.aurelium.auraskills.api.event.item.ItemEnableEvent;
 import dev.aurelium.auraskills.api.event.item.ItemToggleEvent;
@@ -13,6 +12,7 @@ import dev.aurelium.auraskills.api.stat.Stats;
 import dev.aurelium.auraskills.api.util.AuraSkillsModifier.Operation;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.bukkit.ability.BukkitAbilityImpl;
+import dev.aurelium.auraskills.bukkit.damage.DamageRole;
 import dev.aurelium.auraskills.bukkit.user.BukkitUser;
 import dev.aurelium.auraskills.bukkit.util.ItemUtils;
 import dev.aurelium.auraskills.bukkit.util.VersionUtils;
@@ -28,6 +28,7 @@ public class MiningAbilities extends BukkitAbilityImpl {
 
     public MiningAbilities(AuraSkills plugin) {
         super(plugin, Abilities.LUCKY_MINER, Abilities.MINER, Abilities.PICK_MASTER, Abilities.HARDENED_ARMOR, Abilities.STAMINA);
+        plugin.getDamagePipeline().register(EventPriority.NORMAL, DamageRole.ATTACKER, DamageType.PICKAXE, (context, player, user) -> pickMaster(player, user));
     }
 
     public boolean dropsMineralDirectly(Block block) {
@@ -55,19 +56,6 @@ public class MiningAbilities extends BukkitAbilityImpl {
         return new DamageModifier(getValue(ability, user) / 100, DamageModifier.Operation.ADD_COMBINED);
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void damageListener(DamageEvent event) {
-        var meta = event.getDamageMeta();
-        var attacker = meta.getAttackerAsPlayer();
-
-        if (attacker != null) {
-            if (meta.getDamageType() == DamageType.PICKAXE) {
-                var user = plugin.getUser(attacker);
-                meta.addAttackModifier(pickMaster(attacker, user));
-            }
-        }
-    }
-
     @EventHandler(priority = EventPriority.HIGH)
     public void hardenedArmor(PlayerItemDamageEvent event) {
         var ability = Abilities.HARDENED_ARMOR;
@@ -4,7 +4,6 @@ import dev.aurelium.auraskills.api.skill.Skill;
 import dev.aurelium.auraskills.api.source.SkillSource;
 import dev.aurelium.auraskills.api.source.XpSource;
 import dev.aurelium.auraskills.api.source.type.BlockXpSource;
-import dev.aurelium.auraskills.api.source.type.BlockXpSource.BlockTriggers;
 import dev.aurelium.auraskills.api.trait.Trait;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.bukkit.skills.mining.MiningAbilities;
@@ -28,14 +27,14 @@ import org.bukkit.metadata.MetadataValue;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 public class BlockLeveler extends SourceLeveler {
 
     private final BlockLevelerHelper helper;
-    private final Map<UniqueBlock, SkillSource<BlockXpSource>> sourceCache;
+    @Nullable
+    private volatile BlockSourceIndex sourceIndex;
 
     private final Set<Material> collectShearBlocks = Set.of(
             Material.BEEHIVE,
@@ -54,11 +53,10 @@ public class BlockLeveler extends SourceLeveler {
     public BlockLeveler(AuraSkills plugin) {
         super(plugin, SourceTypes.BLOCK);
         this.helper = new BlockLevelerHelper(plugin);
-        this.sourceCache = new ConcurrentHashMap<>();
     }
 
     public void clearSourceCache() {
-        this.sourceCache.clear();
+        this.sourceIndex = null;
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
@@ -245,66 +243,34 @@ public class BlockLeveler extends SourceLeveler {
 
     @Nullable
     public SkillSource<BlockXpSource> getSource(Block block, BlockXpSource.BlockTriggers trigger) {
+        Material material = block.getType();
         // Optimize by immediately rejecting air blocks
-        if (block.getType().isAir()) {
+        if (material.isAir()) {
             return null;
         }
-
-        var cacheKey = new UniqueBlock(block.getType(), block.getBlockData().getAsString(true), trigger);
-        SkillSource<BlockXpSource> cachedSource = sourceCache.get(cacheKey);
-        // Cache hit
-        if (cachedSource != null) {
-            return cachedSource;
-        }
-
-        List<SkillSource<BlockXpSource>> sources = plugin.getSkillManager().getSourcesOfType(BlockXpSource.class);
-        sources = filterByTrigger(sources, trigger);
-        for (SkillSource<BlockXpSource> entry : sources) {
-            BlockXpSource source = entry.source();
-
-            if (!matchesMaterial(source, block)) {
-                continue;
-            }
-
-            // Check block state
-            if (source.getStates() != null) {
-                // Skip if no state matches
-                if (!matchesStates(block, source.getStates())) {
-                    continue;
-                }
-            }
-            // Update cache
-            sourceCache.put(cacheKey, entry);
-            return entry;
-        }
-        return null;
+        return getSourceIndex().resolve(block, material, trigger);
     }
 
     public SkillSource<BlockXpSource> getSourceByMaterialOnly(Block block) {
-        List<SkillSource<BlockXpSource>> sources = plugin.getSkillManager().getSourcesOfType(BlockXpSource.class);
-        for (SkillSource<BlockXpSource> entry : sources) {
-            BlockXpSource source = entry.source();
-            if (matchesMaterial(source, block)) {
-                return entry;
-            }
-        }
-        return null;
+        return getSourceIndex().getFirstByMaterial(block.getType());
     }
 
-    private boolean matchesMaterial(BlockXpSource candidate, Block block) {
-        boolean blockMatches = false;
-        for (String blockName : candidate.getBlocks()) {
-            if (block.getType().name().equalsIgnoreCase(blockName)) {
-                blockMatches = true;
-                break;
-            }
+    private BlockSourceIndex getSourceIndex() {
+        List<SkillSource<BlockXpSource>> sources = plugin.getSkillManager().getSourcesOfType(BlockXpSource.class);
+        BlockSourceIndex index = sourceIndex;
+        // Rebuild if the skill manager loaded a new source list
+        if (index == null || !index.isBuiltFrom(sources)) {
+            index = new BlockSourceIndex(sources);
+            sourceIndex = index;
         }
-        return blockMatches;
+        return index;
     }
 
     private boolean matchesStates(Block block, BlockXpSource.BlockXpSourceState[] states) {
-        String blockDataString = block.getBlockData().getAsString(true);
-        Map<String, Object> blockDataMap = parseFromBlockData(blockDataString);
+        return matchesStates(parseFromBlockData(block.getBlockData().getAsString(true)), states);
+    }
+
+    static boolean matchesStates(Map<String, Object> blockDataMap, BlockXpSource.BlockXpSourceState[] states) {
         // Check if block data matches defined states
         for (BlockXpSource.BlockXpSourceState state : states) {
             if (state == null) continue;
@@ -329,21 +295,6 @@ public class BlockLeveler extends SourceLeveler {
         return false;
     }
 
-    private List<SkillSource<BlockXpSource>> filterByTrigger(List<SkillSource<BlockXpSource>> sources, BlockXpSource.BlockTriggers trigger) {
-        List<SkillSource<BlockXpSource>> filtered = new ArrayList<>();
-        for (SkillSource<BlockXpSource> entry : sources) {
-            BlockXpSource source = entry.source();
-            // Check if trigger matches any of the source triggers
-            for (BlockXpSource.BlockTriggers sourceTrigger : source.getTriggers()) {
-                if (sourceTrigger == trigger) {
-                    filtered.add(entry);
-                    break;
-                }
-            }
-        }
-        return filtered;
-    }
-
     public static Map<String, Object> parseFromBlockData(String input) {
         Map<String, Object> result = new HashMap<>();
         // Check if the input is valid
@@ -420,8 +371,4 @@ public class BlockLeveler extends SourceLeveler {
         return value;
     }
 
-    public record UniqueBlock(Material material, String blockData, BlockTriggers trigger) {
-
-    }
-
 }
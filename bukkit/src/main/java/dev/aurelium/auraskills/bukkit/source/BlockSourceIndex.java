@@ -0,0 +1,121 @@
+package dev.aurelium.auraskills.bukkit.source;
+
+import dev.aurelium.auraskills.api.source.SkillSource;
+import dev.aurelium.auraskills.api.source.type.BlockXpSource;
+import dev.aurelium.auraskills.api.source.type.BlockXpSource.BlockTriggers;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Block sources grouped by trigger and material, so resolving the source of a block only looks at
+ * the sources that list its material. Materials whose first matching source doesn't depend on block
+ * states resolve without reading block data. Otherwise the result is cached per block data, including
+ * blocks that match no source.
+ */
+class BlockSourceIndex {
+
+    private final List<SkillSource<BlockXpSource>> sources;
+    private final Map<BlockTriggers, Map<Material, MaterialSources>> byTrigger = new EnumMap<>(BlockTriggers.class);
+    private final Map<Material, SkillSource<BlockXpSource>> byMaterial = new EnumMap<>(Material.class);
+
+    BlockSourceIndex(List<SkillSource<BlockXpSource>> sources) {
+        this.sources = sources;
+        Map<BlockTriggers, Map<Material, List<SkillSource<BlockXpSource>>>> candidates = new EnumMap<>(BlockTriggers.class);
+        for (SkillSource<BlockXpSource> entry : sources) {
+            BlockXpSource source = entry.source();
+            for (String blockName : source.getBlocks()) {
+                Material material = Material.getMaterial(blockName.toUpperCase(Locale.ROOT));
+                if (material == null) continue;
+
+                byMaterial.putIfAbsent(material, entry);
+                for (BlockTriggers trigger : source.getTriggers()) {
+                    List<SkillSource<BlockXpSource>> list = candidates
+                            .computeIfAbsent(trigger, t -> new EnumMap<>(Material.class))
+                            .computeIfAbsent(material, m -> new ArrayList<>());
+                    if (!list.contains(entry)) {
+                        list.add(entry);
+                    }
+                }
+            }
+        }
+        for (Map.Entry<BlockTriggers, Map<Material, List<SkillSource<BlockXpSource>>>> triggerEntry : candidates.entrySet()) {
+            Map<Material, MaterialSources> materials = new EnumMap<>(Material.class);
+            for (Map.Entry<Material, List<SkillSource<BlockXpSource>>> materialEntry : triggerEntry.getValue().entrySet()) {
+                materials.put(materialEntry.getKey(), new MaterialSources(materialEntry.getValue()));
+            }
+            byTrigger.put(triggerEntry.getKey(), materials);
+        }
+    }
+
+    /**
+     * Gets whether the index was built from the given source list, which is replaced when sources are reloaded.
+     *
+     * @param sources the current block sources
+     * @return whether the index is up to date
+     */
+    boolean isBuiltFrom(List<SkillSource<BlockXpSource>> sources) {
+        return this.sources == sources;
+    }
+
+    @Nullable
+    SkillSource<BlockXpSource> resolve(Block block, Material material, BlockTriggers trigger) {
+        Map<Material, MaterialSources> materials = byTrigger.get(trigger);
+        if (materials == null) return null;
+        MaterialSources materialSources = materials.get(material);
+        if (materialSources == null) return null;
+        return materialSources.resolve(block);
+    }
+
+    @Nullable
+    SkillSource<BlockXpSource> getFirstByMaterial(Material material) {
+        return byMaterial.get(material);
+    }
+
+    private static class MaterialSources {
+
+        private final List<SkillSource<BlockXpSource>> candidates;
+        // Set if the result doesn't depend on block states
+        @Nullable
+        private final SkillSource<BlockXpSource> fixed;
+        private final Map<BlockData, Optional<SkillSource<BlockXpSource>>> stateCache = new ConcurrentHashMap<>();
+
+        private MaterialSources(List<SkillSource<BlockXpSource>> candidates) {
+            this.candidates = List.copyOf(candidates);
+            SkillSource<BlockXpSource> first = candidates.getFirst();
+            this.fixed = first.source().getStates() == null ? first : null;
+        }
+
+        @Nullable
+        private SkillSource<BlockXpSource> resolve(Block block) {
+            if (fixed != null) {
+                return fixed;
+            }
+            BlockData blockData = block.getBlockData();
+            Optional<SkillSource<BlockXpSource>> cached = stateCache.get(blockData);
+            if (cached == null) {
+                cached = Optional.ofNullable(match(blockData));
+                stateCache.put(blockData, cached);
+            }
+            return cached.orElse(null);
+        }
+
+        @Nullable
+        private SkillSource<BlockXpSource> match(BlockData blockData) {
+            Map<String, Object> blockDataMap = BlockLeveler.parseFromBlockData(blockData.getAsString(true));
+            for (SkillSource<BlockXpSource> entry : candidates) {
+                BlockXpSource.BlockXpSourceState[] states = entry.source().getStates();
+                if (states == null || BlockLeveler.matchesStates(blockDataMap, states)) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+    }
+
+}
@@ -1,82 +1,122 @@
 package dev.aurelium.auraskills.bukkit.source;
 
-import com.google.common.collect.Sets;
 import dev.aurelium.auraskills.api.skill.Skill;
 import dev.aurelium.auraskills.api.source.type.JumpingXpSource;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.bukkit.util.CompatUtil;
 import dev.aurelium.auraskills.common.source.SourceTypes;
+import dev.aurelium.auraskills.common.user.User;
+import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
-import org.bukkit.metadata.FixedMetadataValue;
 import org.bukkit.potion.PotionEffect;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Set;
-import java.util.UUID;
 
 public class JumpingLeveler extends SourceLeveler {
 
-    private final Set<UUID> prevPlayersOnGround = Sets.newConcurrentHashSet();
+    private static final String PAPER_JUMP_EVENT = "com.destroystokyo.paper.event.player.PlayerJumpEvent";
+    private static final Set<String> JUMP_EFFECTS = Set.of("jump", "jump_boost");
 
     public JumpingLeveler(AuraSkills plugin) {
         super(plugin, SourceTypes.JUMPING);
     }
 
-    @EventHandler
-    @SuppressWarnings("deprecation")
-    public void onJump(PlayerMoveEvent event) {
-        if (disabled()) return;
-        Player player = event.getPlayer();
-
-        handleJump(player, event);
-
-        if (player.isOnGround()) {
-            prevPlayersOnGround.add(player.getUniqueId());
+    /**
+     * Registers the listener that detects jumps. Paper's jump event is used when available,
+     * otherwise jumps are detected from move events.
+     */
+    public void registerJumpListener() {
+        Class<? extends Event> jumpEventClass = getPaperJumpEvent();
+        if (jumpEventClass != null) {
+            Bukkit.getPluginManager().registerEvent(jumpEventClass, this, EventPriority.NORMAL, (listener, event) -> {
+                if (jumpEventClass.isInstance(event)) {
+                    onJump((PlayerEvent) event);
+                }
+            }, plugin);
         } else {
-            prevPlayersOnGround.remove(player.getUniqueId());
+            Bukkit.getPluginManager().registerEvents(new MoveJumpDetector(), plugin);
         }
     }
 
-    @SuppressWarnings("deprecation")
-    private void handleJump(Player player, PlayerMoveEvent event) {
-        if (player.getVelocity().getY() <= 0) {
-            return;
+    @Nullable
+    private Class<? extends Event> getPaperJumpEvent() {
+        try {
+            return Class.forName(PAPER_JUMP_EVENT).asSubclass(Event.class);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            return null;
         }
+    }
 
-        double jumpVelocity = 0.42F;
-        if (CompatUtil.hasEffect(player, Set.of("jump", "jump_boost"))) {
-            PotionEffect effect = CompatUtil.getEffect(player, Set.of("jump", "jump_boost"));
-            if (effect != null) {
-                jumpVelocity += ((float) (effect.getAmplifier() + 1) * 0.1F);
-            }
-        }
-        if (player.getLocation().getBlock().getType() == Material.LADDER || !prevPlayersOnGround.contains(player.getUniqueId())) {
-            return;
-        }
-        if (player.isOnGround() || Double.compare(player.getVelocity().getY(), jumpVelocity) != 0) {
-            return;
-        }
+    private void onJump(PlayerEvent event) {
+        if (disabled()) return;
+        Player player = event.getPlayer();
+        User user = plugin.getUserManager().getUser(player.getUniqueId());
+        if (user == null) return;
+
+        countJump(player, user, (Cancellable) event);
+    }
+
+    private void countJump(Player player, User user, Cancellable event) {
         var skillSource = plugin.getSkillManager().getSingleSourceOfType(JumpingXpSource.class);
         if (skillSource == null) return;
 
         JumpingXpSource source = skillSource.source();
         Skill skill = skillSource.skill();
 
-        if (player.hasMetadata("skillsJumps")) {
-            player.setMetadata("skillsJumps", new FixedMetadataValue(plugin, player.getMetadata("skillsJumps").get(0).asInt() + 1));
-            if (player.getMetadata("skillsJumps").get(0).asInt() >= source.getInterval()) {
+        if (user.incrementJumps() < source.getInterval()) {
+            return;
+        }
+        if (failsChecks(event, player, player.getLocation(), skill)) return;
 
-                if (failsChecks(event, player, player.getLocation(), skill)) return;
+        plugin.getLevelManager().addXp(user, skill, source, source.getXp());
 
-                plugin.getLevelManager().addXp(plugin.getUser(player), skill, source, source.getXp());
+        user.resetJumps();
+    }
 
-                player.removeMetadata("skillsJumps", plugin);
+    private class MoveJumpDetector implements Listener {
+
+        @EventHandler
+        @SuppressWarnings("deprecation")
+        public void onMove(PlayerMoveEvent event) {
+            if (disabled()) return;
+            Player player = event.getPlayer();
+            User user = plugin.getUserManager().getUser(player.getUniqueId());
+            if (user == null) return;
+
+            boolean onGround = player.isOnGround();
+            boolean wasOnGround = user.wasOnGround();
+            user.setOnGround(onGround);
+            // A jump is the first move off the ground
+            if (onGround || !wasOnGround) {
+                return;
             }
-        } else {
-            player.setMetadata("skillsJumps", new FixedMetadataValue(plugin, 1));
+            double velocityY = player.getVelocity().getY();
+            if (velocityY <= 0) {
+                return;
+            }
+            if (player.getLocation().getBlock().getType() == Material.LADDER) {
+                return;
+            }
+            double jumpVelocity = 0.42F;
+            PotionEffect effect = CompatUtil.getEffect(player, JUMP_EFFECTS);
+            if (effect != null) {
+                jumpVelocity += ((float) (effect.getAmplifier() + 1) * 0.1F);
+            }
+            if (Double.compare(velocityY, jumpVelocity) != 0) {
+                return;
+            }
+            countJump(player, user, event);
         }
+
     }
 
 }
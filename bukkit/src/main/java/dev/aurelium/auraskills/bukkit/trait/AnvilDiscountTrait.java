@@ -1,8 +1,5 @@
 package dev.aurelium.auraskills.bukkit.trait;
 
-import com.ezylang.evalex.EvaluationException;
-import com.ezylang.evalex.Expression;
-import com.ezylang.evalex.parser.ParseException;
 import dev.aurelium.auraskills.api.stat.Stats;
 import dev.aurelium.auraskills.api.trait.Trait;
 import dev.aurelium.auraskills.api.trait.Traits;
@@ -10,6 +7,8 @@ import dev.aurelium.auraskills.api.util.NumberUtil;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.bukkit.util.VersionUtils;
 import dev.aurelium.auraskills.common.user.User;
+import dev.aurelium.auraskills.common.util.math.Formula;
+import dev.aurelium.auraskills.common.util.math.FormulaException;
 import org.bukkit.entity.HumanEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -23,7 +22,7 @@ import java.util.Locale;
 public class AnvilDiscountTrait extends TraitImpl {
 
     @Nullable
-    private Expression formula;
+    private Formula formula;
 
     AnvilDiscountTrait(AuraSkills plugin) {
         super(plugin, Traits.ANVIL_DISCOUNT);
@@ -96,12 +95,10 @@ public class AnvilDiscountTrait extends TraitImpl {
     private double getDiscount(double traitValue) {
         try {
             if (formula == null) {
-                formula = new Expression(Traits.ANVIL_DISCOUNT.optionString("formula"));
+                formula = Formula.compile(Traits.ANVIL_DISCOUNT.optionString("formula"), "value");
             }
-            formula.with("value", traitValue);
-
-            return formula.evaluate().getNumberValue().doubleValue();
-        } catch (EvaluationException | ParseException | UnsupportedOperationException e) {
+            return formula.evaluate(traitValue);
+        } catch (FormulaException | UnsupportedOperationException e) {
             plugin.logger().warn("Failed to evaluate formula for trait auraskills/anvil_discount: " + e.getMessage());
         }
         return -1.0 * Math.pow(1.025, -1.0 * traitValue) + 1;
@@ -1,16 +1,15 @@
 package dev.aurelium.auraskills.bukkit.trait;
 
-import dev.aurelium.auraskills.api.damage.DamageMeta;
 import dev.aurelium.auraskills.api.damage.DamageModifier;
 import dev.aurelium.auraskills.api.damage.DamageType;
-import dev.aurelium.auraskills.api.event.damage.DamageEvent;
 import dev.aurelium.auraskills.api.trait.Trait;
 import dev.aurelium.auraskills.api.trait.Traits;
 import dev.aurelium.auraskills.api.util.NumberUtil;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.bukkit.damage.DamageContext;
+import dev.aurelium.auraskills.bukkit.damage.DamageRole;
 import dev.aurelium.auraskills.common.user.User;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 
 import java.util.Locale;
@@ -19,6 +18,8 @@ public class AttackDamageTrait extends TraitImpl {
 
     AttackDamageTrait(AuraSkills plugin) {
         super(plugin, Traits.ATTACK_DAMAGE);
+        // LOW to make sure it runs before ability modifiers
+        plugin.getDamagePipeline().register(EventPriority.LOW, DamageRole.ATTACKER, null, this::attackDamage);
     }
 
     @Override
@@ -26,27 +27,20 @@ public class AttackDamageTrait extends TraitImpl {
         return 0;
     }
 
-    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
-    public void damageListener(DamageEvent event) {
-        // LOW to make sure it runs before ability modifiers
-        DamageMeta meta = event.getDamageMeta();
-        Player player = meta.getAttackerAsPlayer();
-
-        if (player != null) {
-            User user = plugin.getUser(player);
-            Trait trait = Traits.ATTACK_DAMAGE;
-            if (!trait.isEnabled()) return;
+    private DamageModifier attackDamage(DamageContext context, Player player, User user) {
+        Trait trait = Traits.ATTACK_DAMAGE;
+        if (!trait.isEnabled()) return DamageModifier.none();
 
-            if (meta.getDamageType() == DamageType.HAND && !trait.optionBoolean("hand_damage")) {
-                return;
-            }
-
-            if (meta.getDamageType() == DamageType.BOW && !trait.optionBoolean("bow_damage")) {
-                return;
-            }
+        DamageType type = context.getMeta().getDamageType();
+        if (type == DamageType.HAND && !trait.optionBoolean("hand_damage")) {
+            return DamageModifier.none();
+        }
 
-            meta.addAttackModifier(applyStrength(user));
+        if (type == DamageType.BOW && !trait.optionBoolean("bow_damage")) {
+            return DamageModifier.none();
         }
+
+        return applyStrength(user);
     }
 
     @Override
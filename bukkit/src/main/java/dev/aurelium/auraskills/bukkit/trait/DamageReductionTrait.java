@@ -1,18 +1,15 @@
 package dev.aurelium.auraskills.bukkit.trait;
 
-import com.ezylang.evalex.EvaluationException;
-import com.ezylang.evalex.Expression;
-import com.ezylang.evalex.parser.ParseException;
-import dev.aurelium.auraskills.api.damage.DamageMeta;
 import dev.aurelium.auraskills.api.damage.DamageModifier;
-import dev.aurelium.auraskills.api.event.damage.DamageEvent;
 import dev.aurelium.auraskills.api.trait.Trait;
 import dev.aurelium.auraskills.api.trait.Traits;
 import dev.aurelium.auraskills.api.util.NumberUtil;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
+import dev.aurelium.auraskills.bukkit.damage.DamageRole;
 import dev.aurelium.auraskills.common.user.User;
+import dev.aurelium.auraskills.common.util.math.Formula;
+import dev.aurelium.auraskills.common.util.math.FormulaException;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.jetbrains.annotations.Nullable;
 
@@ -21,10 +18,12 @@ import java.util.Locale;
 public class DamageReductionTrait extends TraitImpl {
 
     @Nullable
-    private Expression formula;
+    private Formula formula;
 
     DamageReductionTrait(AuraSkills plugin) {
         super(plugin, Traits.DAMAGE_REDUCTION);
+        // LOW to make sure it runs before ability modifiers
+        plugin.getDamagePipeline().register(EventPriority.LOW, DamageRole.TARGET, null, (context, player, user) -> damageReduction(user));
     }
 
     @Override
@@ -42,23 +41,13 @@ public class DamageReductionTrait extends TraitImpl {
         return false;
     }
 
-    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
-    public void damageListener(DamageEvent event) {
+    private DamageModifier damageReduction(User user) {
         if (!Traits.DAMAGE_REDUCTION.isEnabled()) {
-            return;
+            return DamageModifier.none();
         }
 
-        // LOW to make sure it runs before ability modifiers
-        DamageMeta meta = event.getDamageMeta();
-        Player player = meta.getTargetAsPlayer();
-
-        if (player != null) {
-            User user = plugin.getUser(player);
-            double reduction = user.getEffectiveTraitLevel(Traits.DAMAGE_REDUCTION);
-
-            meta.addDefenseModifier(
-                    new DamageModifier((1 - getReductionValue(reduction)) - 1, DamageModifier.Operation.MULTIPLY));
-        }
+        double reduction = user.getEffectiveTraitLevel(Traits.DAMAGE_REDUCTION);
+        return new DamageModifier((1 - getReductionValue(reduction)) - 1, DamageModifier.Operation.MULTIPLY);
     }
 
     public void resetFormula() {
@@ -69,12 +58,10 @@ public class DamageReductionTrait extends TraitImpl {
         Trait trait = Traits.DAMAGE_REDUCTION;
         try {
             if (formula == null) {
-                formula = new Expression(trait.optionString("formula"));
+                formula = Formula.compile(trait.optionString("formula"), "value");
             }
-            formula.with("value", value);
-
-            return formula.evaluate().getNumberValue().doubleValue();
-        } catch (EvaluationException | ParseException | UnsupportedOperationException e) {
+            return formula.evaluate(value);
+        } catch (FormulaException | UnsupportedOperationException e) {
             plugin.logger().warn("Failed to evaluate formula for trait auraskills/damage_reduction: " + e.getMessage());
         }
         // Default formula
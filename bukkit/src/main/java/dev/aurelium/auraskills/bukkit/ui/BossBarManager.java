@@ -10,7 +10,6 @@ import dev.aurelium.auraskills.common.message.MessageProvider;
 import dev.aurelium.auraskills.common.message.type.ActionBarMessage;
 import dev.aurelium.auraskills.common.util.math.BigNumber;
 import dev.aurelium.auraskills.common.util.math.RomanNumber;
-import dev.aurelium.auraskills.common.util.text.TextUtil;
 import dev.aurelium.slate.text.TextFormatter;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.bossbar.BossBar;
@@ -20,6 +19,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.Nullable;
 
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
@@ -27,16 +27,17 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 
 public class BossBarManager implements Listener {
 
+    private static final String[] PLACEHOLDERS = {"skill", "level", "current_xp", "xp_gained", "income", "level_xp", "percent"};
+    private static final String[] MAXED_PLACEHOLDERS = {"skill", "level", "current_xp", "xp_gained", "income"};
     private final Map<UUID, Map<Skill, BossBar>> bossBars;
-    private final Map<UUID, Map<Skill, Integer>> currentActions;
     private final Map<UUID, Map<Skill, Integer>> checkCurrentActions;
     private final Map<UUID, BossBar> singleBossBars;
-    private final Map<UUID, Integer> singleCurrentActions;
     private final Map<UUID, Integer> singleCheckCurrentActions;
+    private final Map<BarKey, BarState> barStates; // Pending updates and hide deadlines of shown boss bars
+    private long tick;
     private String mode;
     private int stayTime;
     private Map<Skill, BossBar.Color> colors;
@@ -51,10 +52,9 @@ public class BossBarManager implements Listener {
 
     public BossBarManager(AuraSkills plugin) {
         this.bossBars = new ConcurrentHashMap<>();
-        this.currentActions = new ConcurrentHashMap<>();
         this.plugin = plugin;
         this.singleBossBars = new ConcurrentHashMap<>();
-        this.singleCurrentActions = new ConcurrentHashMap<>();
+        this.barStates = new ConcurrentHashMap<>();
         this.checkCurrentActions = new ConcurrentHashMap<>();
         this.singleCheckCurrentActions = new ConcurrentHashMap<>();
         loadNumberFormats();
@@ -138,6 +138,7 @@ public class BossBarManager implements Listener {
         }
         bossBars.clear();
         singleBossBars.clear();
+        barStates.clear();
     }
 
     public void sendBossBar(Player player, Skill skill, double currentXp, double levelXp, double xpGained, int level, boolean maxed, double income) {
@@ -151,6 +152,67 @@ public class BossBarManager implements Listener {
         if (currentAction == -1 || currentAction % plugin.configInt(Option.BOSS_BAR_UPDATE_EVERY) != 0) {
             return;
         }
+        // Only store the update, the boss bar is updated on the next tick
+        BarKey key = new BarKey(playerId, mode.equals("single") ? null : skill);
+        BarState state = barStates.computeIfAbsent(key, k -> new BarState());
+        synchronized (state) {
+            // Combine with a gain in the same skill that wasn't displayed yet
+            XpGain previous = state.pending;
+            if (previous != null && previous.skill().equals(skill)) {
+                xpGained += previous.xpGained();
+            }
+            state.pending = new XpGain(skill, currentXp, levelXp, xpGained, level, maxed, income);
+        }
+        barStates.putIfAbsent(key, state);
+    }
+
+    /**
+     * Applies pending boss bar updates, progress animations, and hides boss bars after the stay time.
+     * Called every tick by the shared UI task of {@link BukkitUiProvider}.
+     */
+    public void tick() {
+        long now = ++tick;
+        if (barStates.isEmpty()) return;
+
+        for (Map.Entry<BarKey, BarState> entry : barStates.entrySet()) {
+            BarKey key = entry.getKey();
+            BarState state = entry.getValue();
+            synchronized (state) {
+                Player player = Bukkit.getPlayer(key.playerId());
+                if (player == null) {
+                    barStates.remove(key, state);
+                    continue;
+                }
+                if (state.pending != null) {
+                    display(player, state, state.pending, now);
+                    state.pending = null;
+                }
+                if (state.bossBar == null) {
+                    barStates.remove(key, state);
+                    continue;
+                }
+                if (!Float.isNaN(state.pendingProgress) && now >= state.progressTick) {
+                    state.bossBar.progress(state.pendingProgress);
+                    state.pendingProgress = Float.NaN;
+                }
+                if (now >= state.hideTick) {
+                    plugin.getAudiences().player(player).hideBossBar(state.bossBar);
+                    if (key.skill() == null) {
+                        singleCheckCurrentActions.remove(key.playerId());
+                    } else {
+                        checkCurrentActions.remove(key.playerId());
+                    }
+                    barStates.remove(key, state);
+                }
+            }
+        }
+    }
+
+    private void display(Player player, BarState state, XpGain gain, long now) {
+        UUID playerId = player.getUniqueId();
+        Skill skill = gain.skill();
+        double currentXp = gain.currentXp();
+        double levelXp = gain.levelXp();
 
         BossBar bossBar;
         // Single Mode
@@ -160,7 +222,7 @@ public class BossBarManager implements Listener {
             if (!bossBars.containsKey(playerId)) bossBars.put(playerId, new ConcurrentHashMap<>());
             bossBar = bossBars.get(playerId).get(skill);
         }
-        String text = getBossBarText(player, skill, currentXp, (long) levelXp, xpGained, level, maxed, income, plugin.getLocale(player));
+        String text = getBossBarText(player, skill, currentXp, (long) levelXp, gain.xpGained(), gain.level(), gain.maxed(), gain.income(), plugin.getLocale(player));
         // Calculate xp progress
         float progressNew = (float) (currentXp / levelXp);
         progressNew = Math.min(progressNew, 1.0f);
@@ -171,38 +233,35 @@ public class BossBarManager implements Listener {
         // If player does not have a boss bar in that skill
         if (bossBar == null) {
             // Calculate progress before gaining xp, for boss bar animation
-            float progressOld = (float) (Math.max(currentXp - xpGained, 0) / levelXp);
+            float progressOld = (float) (Math.max(currentXp - gain.xpGained(), 0) / levelXp);
             progressOld = Math.min(progressOld, 1.0f);
             progressOld = Math.max(progressOld, 0.0f);
             if (levelXp == 0) {
                 progressOld = 1.0f;
             }
-            bossBar = handleNewBossBar(player, skill, progressOld, progressNew, text);
+            bossBar = handleNewBossBar(player, skill, progressOld, text);
         } else {
             // Use existing one
-            handleExistingBossBar(bossBar, player, skill, progressNew, text);
+            handleExistingBossBar(bossBar, player, skill, text);
         }
-        // Increment current action
-        if (mode.equals("single")) {
-            singleCurrentActions.compute(playerId, (id, num) -> (num == null) ? 0 : num + 1);
-        } else {
-            currentActions.computeIfAbsent(playerId, k -> new ConcurrentHashMap<>()).compute(skill, (sk, num) -> (num == null) ? 0 : num + 1);
+        if (!animateProgress) {  // If the config option is disabled, immediately show new progress
+            bossBar.progress(progressNew);
+            state.pendingProgress = Float.NaN;
+        } else {  // Update the progress later so the player sees the animation from the previous progress
+            state.pendingProgress = progressNew;
+            state.progressTick = now + 2;
         }
-        scheduleHide(playerId, skill, bossBar); // Schedule tasks to hide the boss bar
+        state.bossBar = bossBar;
+        state.hideTick = now + stayTime; // Hide the boss bar if no xp is gained within the stay time
     }
 
-    private BossBar handleNewBossBar(Player player, Skill skill, float progressOld, float progressNew, String text) {
+    private BossBar handleNewBossBar(Player player, Skill skill, float progressOld, String text) {
         BossBar.Color color = getColor(skill);
         BossBar.Overlay overlay = getOverlay(skill);
 
         Component name = tf.toComponent(text);
 
         BossBar bossBar = BossBar.bossBar(name, progressOld, color, overlay);
-        if (!animateProgress) {  // If the config option is disabled, immediately show new progress
-            bossBar.progress(progressNew);
-        } else {  // Update the progress later to display its animation from progressOld to progressNew
-            plugin.getScheduler().scheduleAtEntity(player, () -> bossBar.progress(progressNew), 2 * 50, TimeUnit.MILLISECONDS);
-        }
         plugin.getAudiences().player(player).showBossBar(bossBar);
 
         // Add to maps
@@ -214,14 +273,9 @@ public class BossBarManager implements Listener {
         return bossBar;
     }
 
-    private void handleExistingBossBar(BossBar bossBar, Player player, Skill skill, float progress, String text) {
+    private void handleExistingBossBar(BossBar bossBar, Player player, Skill skill, String text) {
         Component name = tf.toComponent(text);
 
-        if (!animateProgress) {  // Update boss bar progress immediately
-            bossBar.progress(progress);
-        } else {  // Update progress later, so the player sees the animation from previous progress (from reused boss bar) to new
-            plugin.getScheduler().scheduleAtEntity(player, () -> bossBar.progress(progress), 2 * 50, TimeUnit.MILLISECONDS);
-        }
         bossBar.name(name); // Update the boss bar to the new text value
         bossBar.color(getColor(skill));
 
@@ -229,29 +283,28 @@ public class BossBarManager implements Listener {
     }
 
     private String getBossBarText(Player player, Skill skill, double currentXp, long levelXp, double xpGained, int level, boolean maxed, double income, Locale locale) {
-        String bossBarText;
-        String currentXpText = getCurrentXpText(currentXp);
         MessageProvider provider = plugin.getMessageProvider();
+        ActionBarMessage key;
         if (!maxed) {
-            ActionBarMessage key = income > 0 ? ActionBarMessage.BOSS_BAR_INCOME : ActionBarMessage.BOSS_BAR_XP;
-            bossBarText = setPlaceholders(player, TextUtil.replace(provider.getRaw(key, locale),
-                    "{skill}", skill.getDisplayName(locale, false),
-                    "{level}", RomanNumber.toRoman(level, plugin),
-                    "{current_xp}", currentXpText,
-                    "{level_xp}", getLevelXpText(levelXp),
-                    "{percent}", percentFormat.format(currentXp / (double) levelXp * 100),
-                    "{xp_gained}", xpGained > 0 ? "+" + xpFormat.format(xpGained) : xpFormat.format(xpGained),
-                    "{income}", moneyFormat.format(income)));
+            key = income > 0 ? ActionBarMessage.BOSS_BAR_INCOME : ActionBarMessage.BOSS_BAR_XP;
         } else {
-            ActionBarMessage key = income > 0 ? ActionBarMessage.BOSS_BAR_INCOME_MAXED : ActionBarMessage.BOSS_BAR_MAXED;
-            bossBarText = setPlaceholders(player, TextUtil.replace(provider.getRaw(key, locale),
-                    "{skill}", skill.getDisplayName(locale, false),
-                    "{level}", RomanNumber.toRoman(level, plugin),
-                    "{current_xp}", currentXpText,
-                    "{xp_gained}", xpGained > 0 ? "+" + xpFormat.format(xpGained) : xpFormat.format(xpGained),
-                    "{income}", moneyFormat.format(income)));
+            key = income > 0 ? ActionBarMessage.BOSS_BAR_INCOME_MAXED : ActionBarMessage.BOSS_BAR_MAXED;
         }
-        return bossBarText;
+        String skillName = skill.getDisplayName(locale, false);
+        String levelText = RomanNumber.toRoman(level, plugin);
+        String currentXpText = getCurrentXpText(currentXp);
+        String xpGainedText = xpGained > 0 ? "+" + xpFormat.format(xpGained) : xpFormat.format(xpGained);
+        String incomeText = moneyFormat.format(income);
+        String text;
+        // Values are in the order of the placeholders arrays
+        if (!maxed) {
+            text = provider.getTemplate(key, locale, false, PLACEHOLDERS).render(skillName, levelText, currentXpText,
+                    xpGainedText, incomeText, getLevelXpText(levelXp), percentFormat.format(currentXp / (double) levelXp * 100));
+        } else {
+            text = provider.getTemplate(key, locale, false, MAXED_PLACEHOLDERS).render(skillName, levelText, currentXpText,
+                    xpGainedText, incomeText);
+        }
+        return setPlaceholders(player, text);
     }
 
     private String getLevelXpText(long levelXp) {
@@ -289,47 +342,6 @@ public class BossBarManager implements Listener {
         }
     }
 
-    private void scheduleHide(UUID playerId, Skill skill, BossBar bossBar) {
-        if (mode.equals("single")) {
-            final int currentAction = singleCurrentActions.get(playerId);
-            plugin.getScheduler().scheduleSync(() -> {
-                if (!mode.equals("single")) {
-                    return;
-                }
-                if (currentAction != singleCurrentActions.getOrDefault(playerId, 0)) {
-                    return;
-                }
-                if (bossBar != null) {
-                    plugin.getAudiences().player(playerId).hideBossBar(bossBar);
-                }
-                singleCheckCurrentActions.remove(playerId);
-            }, stayTime * 50L, TimeUnit.MILLISECONDS);
-        } else {
-            Map<Skill, Integer> multiCurrentActions = currentActions.get(playerId);
-            if (multiCurrentActions == null) {
-                return;
-            }
-            final int currentAction = multiCurrentActions.get(skill);
-
-            plugin.getScheduler().scheduleSync(() -> {
-                if (mode.equals("single")) {
-                    return;
-                }
-                Map<Skill, Integer> currActions = currentActions.get(playerId);
-                if (currActions == null) {
-                    return;
-                }
-                if (currentAction != currActions.getOrDefault(skill, 0)) {
-                    return;
-                }
-                if (bossBar != null) {
-                    plugin.getAudiences().player(playerId).hideBossBar(bossBar);
-                }
-                checkCurrentActions.remove(playerId);
-            }, stayTime * 50L, TimeUnit.MILLISECONDS);
-        }
-    }
-
     private BossBar.Color getColor(Skill skill) {
         return colors.getOrDefault(skill, BossBar.Color.GREEN);
     }
@@ -362,11 +374,31 @@ public class BossBarManager implements Listener {
     public void onQuit(PlayerQuitEvent event) {
         UUID playerId = event.getPlayer().getUniqueId();
         bossBars.remove(playerId);
-        currentActions.remove(playerId);
         singleBossBars.remove(playerId);
-        singleCurrentActions.remove(playerId);
         checkCurrentActions.remove(playerId);
         singleCheckCurrentActions.remove(playerId);
+        barStates.keySet().removeIf(key -> key.playerId().equals(playerId));
+    }
+
+    // The skill is null in single mode
+    private record BarKey(UUID playerId, @Nullable Skill skill) {
+
+    }
+
+    private static class BarState {
+
+        @Nullable
+        private XpGain pending;
+        @Nullable
+        private BossBar bossBar;
+        private float pendingProgress = Float.NaN;
+        private long progressTick;
+        private long hideTick;
+
+    }
+
+    private record XpGain(Skill skill, double currentXp, double levelXp, double xpGained, int level, boolean maxed, double income) {
+
     }
 
 }
@@ -4,6 +4,7 @@ import dev.aurelium.auraskills.api.skill.Skill;
 import dev.aurelium.auraskills.bukkit.AuraSkills;
 import dev.aurelium.auraskills.bukkit.hooks.ProtocolLibHook;
 import dev.aurelium.auraskills.bukkit.user.BukkitUser;
+import dev.aurelium.auraskills.common.scheduler.TaskRunnable;
 import dev.aurelium.auraskills.common.ui.ActionBarManager;
 import dev.aurelium.auraskills.common.ui.UiProvider;
 import dev.aurelium.auraskills.common.user.User;
@@ -17,6 +18,7 @@ import org.bukkit.entity.Player;
 
 import java.text.NumberFormat;
 import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 public class BukkitUiProvider implements UiProvider {
 
@@ -30,6 +32,19 @@ public class BukkitUiProvider implements UiProvider {
         this.actionBarManager = new BukkitActionBarManager(plugin, this);
         this.bossBarManager = new BossBarManager(plugin);
         plugin.getServer().getPluginManager().registerEvents(bossBarManager, plugin);
+        startUiTask();
+    }
+
+    // A single task updates all xp action bars and boss bars instead of scheduling tasks for each xp gain
+    private void startUiTask() {
+        var task = new TaskRunnable() {
+            @Override
+            public void run() {
+                actionBarManager.tick();
+                bossBarManager.tick();
+            }
+        };
+        plugin.getScheduler().timerSync(task, 0, 50L, TimeUnit.MILLISECONDS);
     }
 
     @Override
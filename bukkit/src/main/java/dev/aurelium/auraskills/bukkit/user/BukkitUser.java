@@ -7,6 +7,7 @@ import dev.aurelium.auraskills.bukkit.hooks.BukkitLuckPermsHook;
 import dev.aurelium.auraskills.bukkit.item.TraitModifiers;
 import dev.aurelium.auraskills.bukkit.item.UserEquipment;
 import dev.aurelium.auraskills.common.api.implementation.ApiSkillsUser;
+import dev.aurelium.auraskills.common.config.Option;
 import dev.aurelium.auraskills.common.user.User;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
@@ -16,7 +17,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Locale;
-import java.util.Set;
 import java.util.UUID;
 
 public class BukkitUser extends User {
@@ -26,6 +26,8 @@ public class BukkitUser extends User {
     private final AuraSkills plugin;
     // Non-persistent data
     private final UserEquipment equipment;
+    @Nullable
+    private volatile PermissionValues permissionValues;
 
     public BukkitUser(UUID uuid, @Nullable Player player, AuraSkills plugin) {
         super(uuid, plugin);
@@ -87,77 +89,44 @@ public class BukkitUser extends User {
         if (player == null) {
             return 0.0;
         }
-        double multiplier = 0.0;
-
-        if (plugin.getHookManager().isRegistered(BukkitLuckPermsHook.class)
-                && plugin.getHookManager().getHook(BukkitLuckPermsHook.class).usePermissionCache()) {
-            Set<String> permissions = plugin.getHookManager().getHook(BukkitLuckPermsHook.class).getMultiplierPermissions(player);
-            for (String permission : permissions) {
-                multiplier += getMultiplierFromPermission(permission, skill);
-            }
-            return multiplier;
-        } else {
-            for (PermissionAttachmentInfo permission : player.getEffectivePermissions()) {
-                if (!permission.getValue()) continue;
-                multiplier += getMultiplierFromPermission(permission.getPermission(), skill);
-            }
-        }
-
-        return multiplier;
+        return getPermissionValues().getMultiplier(skill);
     }
 
-    private double getMultiplierFromPermission(String permission, @Nullable Skill skill) {
-        final String prefix = "auraskills.multiplier.";
-        if (!permission.startsWith(prefix)) {
-            return 0.0;
+    private PermissionValues getPermissionValues() {
+        PermissionValues values = permissionValues;
+        if (values != null && !isExpired(values)) {
+            return values;
         }
-
-        permission = permission.substring(prefix.length());
-
-        if (isNumeric(permission)) {
-            return Double.parseDouble(permission) / 100.0;
+        values = PermissionValues.parse(player);
+        if (isPermissionCacheEnabled()) {
+            permissionValues = values;
         }
+        return values;
+    }
 
-        if (skill != null) {
-            String namespacedName = skill.toString().toLowerCase(Locale.ROOT) + ".";
-            String plainName = skill.name().toLowerCase(Locale.ROOT) + ".";
-
-            if (permission.startsWith(namespacedName)) {
-                permission = permission.substring(namespacedName.length());
-            } else if (permission.startsWith(plainName)) {
-                permission = permission.substring(plainName.length());
-            } else {
-                return 0.0;
-            }
+    private boolean isPermissionCacheEnabled() {
+        return usesLuckPermsCache() || plugin.configInt(Option.MODIFIER_MULTIPLIER_PERMISSION_CACHE_TTL_MS) > 0;
+    }
 
-            if (isNumeric(permission)) {
-                return Double.parseDouble(permission) / 100.0;
-            }
+    private boolean isExpired(PermissionValues values) {
+        int ttl = plugin.configInt(Option.MODIFIER_MULTIPLIER_PERMISSION_CACHE_TTL_MS);
+        if (ttl > 0) {
+            return values.isOlderThan(ttl);
         }
+        // Without a TTL the values are only kept while LuckPerms invalidates them on changes
+        return !usesLuckPermsCache();
+    }
 
-        return 0.0;
+    private boolean usesLuckPermsCache() {
+        return plugin.getHookManager().isRegistered(BukkitLuckPermsHook.class)
+                && plugin.getHookManager().getHook(BukkitLuckPermsHook.class).usePermissionCache();
     }
 
-    private boolean isNumeric(String str) {
-        if (str == null || str.isEmpty()) {
-            return false;
-        }
-        boolean decimalSeen = false;
-        for (int i = 0; i < str.length(); i++) {
-            char c = str.charAt(i);
-            if (i == 0 && c == '-') {
-                if (str.length() == 1) return false; // "-" alone is not a number
-                continue;
-            }
-            if (c == '.') {
-                if (decimalSeen || i == 0 || i == str.length() - 1)
-                    return false; // Double decimal or leading/trailing decimal
-                decimalSeen = true;
-            } else if (c < '0' || c > '9') {
-                return false; // Non-digit character
-            }
-        }
-        return true;
+    /**
+     * Clears the cached values parsed from permissions, called when the player's permissions change.
+     */
+    public void invalidatePermissionCache() {
+        this.permissionValues = null;
     }
 
     @Override
@@ -178,27 +147,7 @@ public class BukkitUser extends User {
     public int getPermissionJobLimit() {
         if (player == null) return 0;
 
-        final String prefix = "auraskills.jobs.limit.";
-        int highestLimit = 0;
-
-        for (PermissionAttachmentInfo permissionInfo : player.getEffectivePermissions()) {
-            String permission = permissionInfo.getPermission();
-
-            if (!permission.startsWith(prefix)) continue;
-
-            permission = permission.substring(prefix.length());
-
-            if (isNumeric(permission)) {
-                try {
-                    int value = Integer.parseInt(permission);
-                    if (value > highestLimit) {
-                        highestLimit = value;
-                    }
-                } catch (NumberFormatException ignored) {
-                }
-            }
-        }
-        return highestLimit;
+        return getPermissionValues().getJobLimit();
     }
 
     @Override
@@ -0,0 +1,121 @@
+package dev.aurelium.auraskills.bukkit.user;
+
+import dev.aurelium.auraskills.api.skill.Skill;
+import org.bukkit.entity.Player;
+import org.bukkit.permissions.PermissionAttachmentInfo;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The multiplier and job limit values parsed from a player's effective permissions in a single scan.
+ * Skill multipliers are summed the first time each skill is requested.
+ */
+class PermissionValues {
+
+    private static final String MULTIPLIER_PREFIX = "auraskills.multiplier.";
+    private static final String JOB_LIMIT_PREFIX = "auraskills.jobs.limit.";
+
+    private final double globalMultiplier;
+    private final List<String> skillMultiplierPermissions; // Permission suffixes after the prefix that aren't a plain number
+    private final int jobLimit;
+    private final long createdAt;
+    private final Map<Skill, Double> skillMultipliers = new ConcurrentHashMap<>();
+
+    private PermissionValues(double globalMultiplier, List<String> skillMultiplierPermissions, int jobLimit) {
+        this.globalMultiplier = globalMultiplier;
+        this.skillMultiplierPermissions = skillMultiplierPermissions;
+        this.jobLimit = jobLimit;
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    static PermissionValues parse(Player player) {
+        double globalMultiplier = 0.0;
+        List<String> skillPermissions = new ArrayList<>();
+        int jobLimit = 0;
+        for (PermissionAttachmentInfo info : player.getEffectivePermissions()) {
+            String permission = info.getPermission();
+            if (permission.startsWith(MULTIPLIER_PREFIX)) {
+                if (!info.getValue()) continue;
+                String suffix = permission.substring(MULTIPLIER_PREFIX.length());
+                if (isNumeric(suffix)) {
+                    globalMultiplier += Double.parseDouble(suffix) / 100.0;
+                } else {
+                    skillPermissions.add(suffix);
+                }
+            } else if (permission.startsWith(JOB_LIMIT_PREFIX)) {
+                String suffix = permission.substring(JOB_LIMIT_PREFIX.length());
+                if (isNumeric(suffix)) {
+                    try {
+                        jobLimit = Math.max(jobLimit, Integer.parseInt(suffix));
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            }
+        }
+        return new PermissionValues(globalMultiplier, List.copyOf(skillPermissions), jobLimit);
+    }
+
+    double getMultiplier(@Nullable Skill skill) {
+        if (skill == null || skillMultiplierPermissions.isEmpty()) {
+            return globalMultiplier;
+        }
+        return globalMultiplier + skillMultipliers.computeIfAbsent(skill, this::sumSkillMultiplier);
+    }
+
+    int getJobLimit() {
+        return jobLimit;
+    }
+
+    boolean isOlderThan(long ttlMs) {
+        return System.currentTimeMillis() - createdAt >= ttlMs;
+    }
+
+    private double sumSkillMultiplier(Skill skill) {
+        String namespacedName = skill.toString().toLowerCase(Locale.ROOT) + ".";
+        String plainName = skill.name().toLowerCase(Locale.ROOT) + ".";
+
+        double multiplier = 0.0;
+        for (String permission : skillMultiplierPermissions) {
+            String value;
+            if (permission.startsWith(namespacedName)) {
+                value = permission.substring(namespacedName.length());
+            } else if (permission.startsWith(plainName)) {
+                value = permission.substring(plainName.length());
+            } else {
+                continue;
+            }
+            if (isNumeric(value)) {
+                multiplier += Double.parseDouble(value) / 100.0;
+            }
+        }
+        return multiplier;
+    }
+
+    static boolean isNumeric(String str) {
+        if (str == null || str.isEmpty()) {
+            return false;
+        }
+        boolean decimalSeen = false;
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (i == 0 && c == '-') {
+                if (str.length() == 1) return false; // "-" alone is not a number
+                continue;
+            }
+            if (c == '.') {
+                if (decimalSeen || i == 0 || i == str.length() - 1)
+                    return false; // Double decimal or leading/trailing decimal
+                decimalSeen = true;
+            } else if (c < '0' || c > '9') {
+                return false; // Non-digit character
+            }
+        }
+        return true;
+    }
+
+}
@@ -1,6 +1,7 @@
 plugins {
     `java-library`
     `java-test-fixtures`
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -0,0 +1,52 @@
+package dev.aurelium.auraskills.common.util.math;
+
+import com.ezylang.evalex.EvaluationException;
+import com.ezylang.evalex.Expression;
+import com.ezylang.evalex.parser.ParseException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares evaluating the default jobs income expression with a compiled {@link Formula}
+ * against evaluating it with EvalEx. Run with {@code ./gradlew :common:jmh}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormulaBenchmark {
+
+    private static final String EXPRESSION = "xp * 0.1 * (1 + level / 100) + MAX(power, skill_average) / 1000";
+
+    private Formula formula;
+    private Expression expression;
+    private double xp;
+
+    @Setup
+    public void setup() {
+        formula = Formula.compile(EXPRESSION, "xp", "base_xp", "level", "power", "skill_average");
+        expression = new Expression(EXPRESSION);
+        xp = 12.5;
+    }
+
+    @Benchmark
+    public double compiled() {
+        return formula.evaluate(xp, 10.0, 42, 350, 17.5);
+    }
+
+    @Benchmark
+    public double evalEx() throws EvaluationException, ParseException {
+        return expression.with("xp", xp)
+                .with("base_xp", 10.0)
+                .with("level", 42)
+                .with("power", 350)
+                .with("skill_average", 17.5)
+                .evaluate()
+                .getNumberValue()
+                .doubleValue();
+    }
+
+}
@@ -1,12 +1,11 @@
 package dev.aurelium.auraskills.common.ability;
 
-import com.ezylang.evalex.EvaluationException;
-import com.ezylang.evalex.Expression;
-import com.ezylang.evalex.parser.ParseException;
 import dev.aurelium.auraskills.api.ability.Ability;
 import dev.aurelium.auraskills.api.skill.Skill;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
 import dev.aurelium.auraskills.common.config.ConfigurateLoader;
+import dev.aurelium.auraskills.common.util.math.Formula;
+import dev.aurelium.auraskills.common.util.math.FormulaException;
 import dev.aurelium.auraskills.common.util.text.TextUtil;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.serialize.SerializationException;
@@ -63,10 +62,9 @@ public class AbilityLoader {
     private Object handleTransformations(String key, Object value) {
         if (key.equals("unlock") && value instanceof String valueExpr) {
             valueExpr = TextUtil.replace(valueExpr, "{start}", String.valueOf(plugin.config().getStartLevel()));
-            Expression expression = new Expression(valueExpr);
             try {
-                return expression.evaluate().getNumberValue().intValue();
-            } catch (EvaluationException | ParseException e) {
+                return (int) Formula.compile(valueExpr).evaluate();
+            } catch (FormulaException e) {
                 plugin.logger().warn("Failed to parse ability unlock expression " + valueExpr);
                 e.printStackTrace();
             }
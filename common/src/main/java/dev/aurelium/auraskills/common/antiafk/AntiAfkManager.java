@@ -1,13 +1,13 @@
 package dev.aurelium.auraskills.common.antiafk;
 
-import com.ezylang.evalex.Expression;
-import com.ezylang.evalex.parser.ParseException;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
 import dev.aurelium.auraskills.common.config.Option;
 import dev.aurelium.auraskills.common.message.type.CommandMessage;
 import dev.aurelium.auraskills.common.ref.PlayerRef;
 import dev.aurelium.auraskills.common.user.AntiAfkLog;
 import dev.aurelium.auraskills.common.user.User;
+import dev.aurelium.auraskills.common.util.math.Formula;
+import dev.aurelium.auraskills.common.util.math.FormulaException;
 import dev.aurelium.auraskills.common.util.text.TextUtil;
 
 import java.lang.reflect.Constructor;
@@ -20,7 +20,7 @@ public abstract class AntiAfkManager {
 
     private final AuraSkillsPlugin plugin;
     private final Map<CheckType, Check> checkMap = new ConcurrentHashMap<>();
-    private Expression logThresholdExpression;
+    private Formula logThresholdFormula;
 
     public AntiAfkManager(AuraSkillsPlugin plugin) {
         this.plugin = plugin;
@@ -52,8 +52,8 @@ public abstract class AntiAfkManager {
         return plugin;
     }
 
-    public Expression getLogThresholdExpression() {
-        return logThresholdExpression;
+    public Formula getLogThresholdFormula() {
+        return logThresholdFormula;
     }
 
     public void reload() {
@@ -120,12 +120,11 @@ public abstract class AntiAfkManager {
     }
 
     private void loadLogThresholdExpression() {
-        this.logThresholdExpression = new Expression(plugin.configString(Option.ANTI_AFK_LOG_THRESHOLD));
+        this.logThresholdFormula = Formula.compile(plugin.configString(Option.ANTI_AFK_LOG_THRESHOLD), "min_count");
         try {
-            this.logThresholdExpression.validate();
-        } catch (ParseException e) {
+            this.logThresholdFormula.validate();
+        } catch (FormulaException e) {
             plugin.logger().warn("Failed to parse anti_afk.log_threshold expression: " + e.getMessage());
-            e.printStackTrace();
         }
     }
 
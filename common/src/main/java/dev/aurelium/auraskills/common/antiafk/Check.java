@@ -1,10 +1,9 @@
 package dev.aurelium.auraskills.common.antiafk;
 
-import com.ezylang.evalex.EvaluationException;
-import com.ezylang.evalex.parser.ParseException;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
 import dev.aurelium.auraskills.common.config.Option;
 import dev.aurelium.auraskills.common.ref.PlayerRef;
+import dev.aurelium.auraskills.common.util.math.FormulaException;
 import org.jetbrains.annotations.VisibleForTesting;
 
 import java.util.Locale;
@@ -27,12 +26,8 @@ public class Check {
         int minCount = optionInt("min_count");
         int logThresholdParsed;
         try {
-            logThresholdParsed = manager.getLogThresholdExpression()
-                    .with("min_count", minCount)
-                    .evaluate()
-                    .getNumberValue()
-                    .intValue();
-        } catch (EvaluationException | ParseException e) {
+            logThresholdParsed = (int) manager.getLogThresholdFormula().evaluate(minCount);
+        } catch (FormulaException e) {
             plugin.logger().warn("Failed to evaluate anti_afk.log_threshold expression: " + e.getMessage());
             e.printStackTrace();
             logThresholdParsed = minCount; // Fallback value
@@ -57,7 +57,7 @@ public class ApiSkillsUser implements SkillsUser {
 
     @Override
     public void addSkillXp(Skill skill, double amountToAdd, XpSource source) {
-        plugin.getLevelManager().addXp(user, skill, source, amountToAdd);
+        plugin.getLevelManager().addXpNow(user, skill, source, amountToAdd);
     }
 
     @Override
@@ -107,12 +107,14 @@ public enum Option {
     LEADERBOARDS_UPDATE_DELAY("leaderboards.update_delay", OptionType.INT),
     ENABLE_SKILL_COMMANDS("enable_skill_commands", OptionType.BOOLEAN),
     CHECK_BLOCK_REPLACE_ENABLED("check_block_replace.enabled", OptionType.BOOLEAN),
+    CHECK_BLOCK_REPLACE_MAX_LOADED_REGIONS("check_block_replace.max_loaded_regions", OptionType.INT),
     DISABLE_IN_CREATIVE_MODE("disable_in_creative_mode", OptionType.BOOLEAN),
     ON_DEATH_RESET_SKILLS("on_death.reset_skills", OptionType.BOOLEAN),
     ON_DEATH_RESET_XP("on_death.reset_xp", OptionType.BOOLEAN),
     ON_DEATH_RESET_XP_RATIO("on_death.reset_xp_ratio", OptionType.DOUBLE),
     AUTO_SAVE_ENABLED("auto_save.enabled", OptionType.BOOLEAN),
     AUTO_SAVE_INTERVAL_TICKS("auto_save.interval_ticks", OptionType.INT),
+    AUTO_SAVE_BATCH_SIZE("auto_save.batch_size", OptionType.INT),
     // Leveler options
     LEVELER_TITLE_ENABLED("leveler.title.enabled", OptionType.BOOLEAN),
     LEVELER_TITLE_FADE_IN("leveler.title.fade_in", OptionType.INT),
@@ -124,6 +126,8 @@ public enum Option {
     LEVELER_SOUND_VOLUME("leveler.sound.volume", OptionType.DOUBLE),
     LEVELER_SOUND_PITCH("leveler.sound.pitch", OptionType.DOUBLE),
     LEVELER_DOUBLE_CHECK_DELAY("leveler.double_check_delay", OptionType.INT),
+    LEVELER_XP_BATCHING_ENABLED("leveler.xp_batching.enabled", OptionType.BOOLEAN),
+    LEVELER_XP_BATCHING_WINDOW_TICKS("leveler.xp_batching.window_ticks", OptionType.INT),
     MANA_ENABLED("mana.enabled", OptionType.BOOLEAN),
     MANA_COOLDOWN_TIMER_PERIOD("mana.cooldown_timer_period", OptionType.INT),
     // Modifier options
@@ -133,6 +137,7 @@ public enum Option {
     MODIFIER_ITEM_CHECK_PERIOD("modifier.item.check_period", OptionType.INT),
     MODIFIER_ITEM_ENABLE_OFF_HAND("modifier.item.enable_off_hand", OptionType.BOOLEAN),
     MODIFIER_MULTIPLIER_ENABLED("modifier.multiplier.enabled", OptionType.BOOLEAN),
+    MODIFIER_MULTIPLIER_PERMISSION_CACHE_TTL_MS("modifier.multiplier.permission_cache_ttl_ms", OptionType.INT),
     MODIFIER_AUTO_CONVERT_FROM_LEGACY("modifier.auto_convert_from_legacy", OptionType.BOOLEAN),
     MODIFIER_TEMPORARY_ENABLED("modifier.temporary.enabled", OptionType.BOOLEAN),
     MODIFIER_TEMPORARY_CHECK_PERIOD("modifier.temporary.check_period", OptionType.INT),
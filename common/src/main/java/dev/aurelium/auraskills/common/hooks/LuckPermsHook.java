@@ -5,8 +5,13 @@ import dev.aurelium.auraskills.common.user.User;
 import net.luckperms.api.LuckPerms;
 import net.luckperms.api.LuckPermsProvider;
 import net.luckperms.api.node.Node;
+import net.luckperms.api.node.NodeEqualityPredicate;
 import org.spongepowered.configurate.ConfigurationNode;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 public class LuckPermsHook extends PermissionsHook {
 
     protected final LuckPerms luckPerms;
@@ -28,6 +33,38 @@ public class LuckPermsHook extends PermissionsHook {
                 user.data().remove(Node.builder(permission).value(value).build()));
     }
 
+    @Override
+    public void updatePermissions(User playerData, Collection<PermissionNode> granted, Collection<PermissionNode> revoked) {
+        // Skip nodes already in the wanted state if the user is loaded in LuckPerms
+        net.luckperms.api.model.user.User loaded = luckPerms.getUserManager().getUser(playerData.getUuid());
+        List<Node> toAdd = new ArrayList<>();
+        for (PermissionNode permission : granted) {
+            Node node = Node.builder(permission.permission()).value(permission.value()).build();
+            if (loaded == null || !loaded.data().contains(node, NodeEqualityPredicate.EXACT).asBoolean()) {
+                toAdd.add(node);
+            }
+        }
+        List<Node> toRemove = new ArrayList<>();
+        for (PermissionNode permission : revoked) {
+            Node node = Node.builder(permission.permission()).value(permission.value()).build();
+            if (loaded == null || loaded.data().contains(node, NodeEqualityPredicate.EXACT).asBoolean()) {
+                toRemove.add(node);
+            }
+        }
+        if (toAdd.isEmpty() && toRemove.isEmpty()) {
+            return;
+        }
+        // Apply all changes in one modification
+        luckPerms.getUserManager().modifyUser(playerData.getUuid(), user -> {
+            for (Node node : toAdd) {
+                user.data().add(node);
+            }
+            for (Node node : toRemove) {
+                user.data().remove(node);
+            }
+        });
+    }
+
     @Override
     public Class<? extends Hook> getTypeClass() {
         return PermissionsHook.class;
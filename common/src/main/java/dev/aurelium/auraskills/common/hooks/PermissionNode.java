@@ -0,0 +1,11 @@
+package dev.aurelium.auraskills.common.hooks;
+
+/**
+ * A permission set to a value by a permission reward.
+ *
+ * @param permission the permission node
+ * @param value the value the permission is set to
+ */
+public record PermissionNode(String permission, boolean value) {
+
+}
@@ -4,6 +4,8 @@ import dev.aurelium.auraskills.common.AuraSkillsPlugin;
 import dev.aurelium.auraskills.common.user.User;
 import org.spongepowered.configurate.ConfigurationNode;
 
+import java.util.Collection;
+
 public abstract class PermissionsHook extends Hook {
 
     public PermissionsHook(AuraSkillsPlugin plugin, ConfigurationNode config) {
@@ -14,4 +16,21 @@ public abstract class PermissionsHook extends Hook {
 
     public abstract void unsetPermission(User user, String permission, boolean value);
 
+    /**
+     * Sets and unsets multiple permissions of a user at once. Hooks that can apply changes
+     * in a single transaction should override this.
+     *
+     * @param user the user
+     * @param granted the permissions to set
+     * @param revoked the permissions to unset
+     */
+    public void updatePermissions(User user, Collection<PermissionNode> granted, Collection<PermissionNode> revoked) {
+        for (PermissionNode node : granted) {
+            setPermission(user, node.permission(), node.value());
+        }
+        for (PermissionNode node : revoked) {
+            unsetPermission(user, node.permission(), node.value());
+        }
+    }
+
 }
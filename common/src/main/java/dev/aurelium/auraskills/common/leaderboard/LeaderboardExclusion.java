@@ -23,6 +23,10 @@ public abstract class LeaderboardExclusion {
         return excludedPlayers.contains(uuid);
     }
 
+    public Set<UUID> getExcludedPlayers() {
+        return Collections.unmodifiableSet(excludedPlayers);
+    }
+
     public void addExcludedPlayer(UUID uuid) {
         excludedPlayers.add(uuid);
     }
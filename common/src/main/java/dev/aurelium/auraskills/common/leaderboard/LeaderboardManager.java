@@ -13,21 +13,21 @@ import java.util.concurrent.TimeUnit;
 
 public class LeaderboardManager {
 
+    // Number of incremental updates between full rebuilds, which drop players deleted from storage
+    private static final int FULL_REBUILD_INTERVAL = 12;
+
     private final AuraSkillsPlugin plugin;
     private final LeaderboardExclusion leaderboardExclusion;
-    private final Map<Skill, List<SkillValue>> skillLeaderboards;
-
-    private List<SkillValue> powerLeaderboard;
-    private List<SkillValue> averageLeaderboard;
+    // Replaced as a whole when leaderboards are rebuilt, incremental updates modify the trees in place
+    private volatile Leaderboards leaderboards;
     private volatile boolean sorting = false;
     private long previousFetchTime = 0; // The first time leaderboards sort, all users should be fetched
+    private int updatesSinceRebuild = 0;
 
     public LeaderboardManager(AuraSkillsPlugin plugin, LeaderboardExclusion leaderboardExclusion) {
         this.plugin = plugin;
         this.leaderboardExclusion = leaderboardExclusion;
-        this.skillLeaderboards = new ConcurrentHashMap<>();
-        this.powerLeaderboard = new ArrayList<>();
-        this.averageLeaderboard = new ArrayList<>();
+        this.leaderboards = new Leaderboards();
         // Load excluded players
         this.leaderboardExclusion.loadFromFile();
     }
@@ -36,33 +36,40 @@ public class LeaderboardManager {
         plugin.getScheduler().timerAsync(new TaskRunnable() {
             @Override
             public void run() {
-                updateLeaderboardsSync();
+                updateLeaderboardsSync(previousFetchTime == 0 || updatesSinceRebuild >= FULL_REBUILD_INTERVAL);
             }
         }, 5 * 60, 5 * 60, TimeUnit.SECONDS);
     }
 
+    /**
+     * Rebuilds all leaderboards from every stored user.
+     *
+     * @return the time taken in milliseconds
+     */
     public long updateLeaderboards() {
-        return updateLeaderboardsSync();
+        return updateLeaderboardsSync(true);
     }
 
-    private long updateLeaderboardsSync() {
+    private long updateLeaderboardsSync(boolean rebuild) {
         if (sorting) return 0;
         long start = System.currentTimeMillis();
         try {
             setSorting(true);
-            // Initialize lists
-            Map<Skill, List<SkillValue>> skillLeaderboards = new ConcurrentHashMap<>();
-            for (Skill skill : plugin.getSkillRegistry().getValues()) {
-                skillLeaderboards.put(skill, new ArrayList<>());
+            if (rebuild) {
+                // Fill new leaderboards and replace the current ones once complete
+                Leaderboards rebuilt = new Leaderboards();
+                putLoadedPlayers(rebuilt);
+                putOfflinePlayers(rebuilt, 0);
+                this.leaderboards = rebuilt;
+                updatesSinceRebuild = 0;
+            } else {
+                // Only apply changes of online players and offline players updated since the last fetch
+                Leaderboards current = this.leaderboards;
+                removeExcludedPlayers(current);
+                putLoadedPlayers(current);
+                putOfflinePlayers(current, previousFetchTime);
+                updatesSinceRebuild++;
             }
-            List<SkillValue> powerLeaderboard = new ArrayList<>();
-            List<SkillValue> averageLeaderboard = new ArrayList<>();
-            // Add players already in memory
-            addLoadedPlayersToLeaderboards(skillLeaderboards, powerLeaderboard, averageLeaderboard);
-            // Add offline players
-            addOfflinePlayers(skillLeaderboards, powerLeaderboard, averageLeaderboard, previousFetchTime);
-            // Sort leaderboards and set as current
-            sortLeaderboards(skillLeaderboards, powerLeaderboard, averageLeaderboard);
 
             setSorting(false);
             previousFetchTime = start;
@@ -76,19 +83,27 @@ public class LeaderboardManager {
         return System.currentTimeMillis() - start;
     }
 
+    /**
+     * Copies the full leaderboard of a skill. Use {@link #getLeaderboard(Skill, int, int)}
+     * or {@link #getLeaderboardSize(Skill)} when the whole list isn't needed.
+     *
+     * @param skill the skill
+     * @return the sorted leaderboard
+     */
     public List<SkillValue> getLeaderboard(Skill skill) {
-        return skillLeaderboards.computeIfAbsent(skill, s -> new ArrayList<>());
+        return leaderboards.skill(skill).toList();
     }
 
     public void setLeaderboard(Skill skill, List<SkillValue> leaderboard) {
-        this.skillLeaderboards.put(skill, leaderboard);
+        this.leaderboards.skills().put(skill, createTree(leaderboard, new LeaderboardSorter()));
     }
 
     public List<SkillValue> getLeaderboard(Skill skill, int page, int numPerPage) {
-        List<SkillValue> leaderboard = skillLeaderboards.computeIfAbsent(skill, k -> new ArrayList<>());
-        int from = (Math.max(page, 1) - 1) * numPerPage;
-        int to = from + numPerPage;
-        return leaderboard.subList(Math.min(from, leaderboard.size()), Math.min(to, leaderboard.size()));
+        return getPage(leaderboards.skill(skill), page, numPerPage);
+    }
+
+    public int getLeaderboardSize(Skill skill) {
+        return leaderboards.skill(skill).size();
     }
 
     @Nullable
@@ -101,64 +116,49 @@ public class LeaderboardManager {
     }
 
     public List<SkillValue> getPowerLeaderboard() {
-        return powerLeaderboard;
+        return leaderboards.power().toList();
     }
 
     public List<SkillValue> getPowerLeaderboard(int page, int numPerPage) {
-        int from = (Math.max(page, 1) - 1) * numPerPage;
-        int to = from + numPerPage;
-        return powerLeaderboard.subList(Math.min(from, powerLeaderboard.size()), Math.min(to, powerLeaderboard.size()));
+        return getPage(leaderboards.power(), page, numPerPage);
+    }
+
+    public int getPowerLeaderboardSize() {
+        return leaderboards.power().size();
     }
 
     public void setPowerLeaderboard(List<SkillValue> leaderboard) {
-        this.powerLeaderboard = leaderboard;
+        Leaderboards current = this.leaderboards;
+        this.leaderboards = new Leaderboards(current.skills(), createTree(leaderboard, new LeaderboardSorter()), current.average());
     }
 
     public List<SkillValue> getAverageLeaderboard() {
-        return averageLeaderboard;
+        return leaderboards.average().toList();
     }
 
     public List<SkillValue> getAverageLeaderboard(int page, int numPerPage) {
-        int from = (Math.max(page, 1) - 1) * numPerPage;
-        int to = from + numPerPage;
-        return averageLeaderboard.subList(Math.min(from, averageLeaderboard.size()), Math.min(to, averageLeaderboard.size()));
+        return getPage(leaderboards.average(), page, numPerPage);
+    }
+
+    public int getAverageLeaderboardSize() {
+        return leaderboards.average().size();
     }
 
     public void setAverageLeaderboard(List<SkillValue> leaderboard) {
-        this.averageLeaderboard = leaderboard;
+        Leaderboards current = this.leaderboards;
+        this.leaderboards = new Leaderboards(current.skills(), current.power(), createTree(leaderboard, new AverageSorter()));
     }
 
     public int getSkillRank(Skill skill, UUID id) {
-        List<SkillValue> leaderboard = skillLeaderboards.get(skill);
-        if (leaderboard == null) return 0;
-
-        for (int i = 0; i < leaderboard.size(); i++) {
-            SkillValue skillValue = leaderboard.get(i);
-            if (skillValue.id().equals(id)) {
-                return i + 1;
-            }
-        }
-        return 0;
+        return leaderboards.skill(skill).getRank(id);
     }
 
     public int getPowerRank(UUID id) {
-        for (int i = 0; i < powerLeaderboard.size(); i++) {
-            SkillValue skillValue = powerLeaderboard.get(i);
-            if (skillValue.id().equals(id)) {
-                return i + 1;
-            }
-        }
-        return 0;
+        return leaderboards.power().getRank(id);
     }
 
     public int getAverageRank(UUID id) {
-        for (int i = 0; i < averageLeaderboard.size(); i++) {
-            SkillValue skillValue = averageLeaderboard.get(i);
-            if (skillValue.id().equals(id)) {
-                return i + 1;
-            }
-        }
-        return 0;
+        return leaderboards.average().getRank(id);
     }
 
     public boolean isNotSorting() {
@@ -173,7 +173,28 @@ public class LeaderboardManager {
         return leaderboardExclusion;
     }
 
-    private void addLoadedPlayersToLeaderboards(Map<Skill, List<SkillValue>> skillLb, List<SkillValue> powerLb, List<SkillValue> averageLb) {
+    private List<SkillValue> getPage(LeaderboardTree leaderboard, int page, int numPerPage) {
+        int from = (Math.max(page, 1) - 1) * numPerPage;
+        return leaderboard.getRange(from, numPerPage);
+    }
+
+    private LeaderboardTree createTree(List<SkillValue> values, Comparator<SkillValue> sorter) {
+        LeaderboardTree tree = new LeaderboardTree(sorter);
+        values.forEach(tree::put);
+        return tree;
+    }
+
+    private void removeExcludedPlayers(Leaderboards lb) {
+        for (UUID id : leaderboardExclusion.getExcludedPlayers()) {
+            for (LeaderboardTree tree : lb.skills().values()) {
+                tree.remove(id);
+            }
+            lb.power().remove(id);
+            lb.average().remove(id);
+        }
+    }
+
+    private void putLoadedPlayers(Leaderboards lb) {
         for (User user : plugin.getUserManager().getUserMap().values()) {
             UUID id = user.getUuid();
 
@@ -187,9 +208,8 @@ public class LeaderboardManager {
             for (Skill skill : plugin.getSkillManager().getSkillValues()) {
                 int level = user.getSkillLevel(skill);
                 double xp = user.getSkillXp(skill);
-                // Add to lists
-                SkillValue skillLevel = new SkillValue(id, level, xp);
-                skillLb.get(skill).add(skillLevel);
+                // Add to leaderboards, unchanged values are skipped
+                lb.skill(skill).put(new SkillValue(id, level, xp));
 
                 if (skill.isEnabled()) {
                     powerLevel += level;
@@ -198,15 +218,13 @@ public class LeaderboardManager {
                 }
             }
             // Add power and average
-            SkillValue powerValue = new SkillValue(id, powerLevel, powerXp);
-            powerLb.add(powerValue);
+            lb.power().put(new SkillValue(id, powerLevel, powerXp));
             double averageLevel = (double) powerLevel / numEnabled;
-            SkillValue averageValue = new SkillValue(id, 0, averageLevel);
-            averageLb.add(averageValue);
+            lb.average().put(new SkillValue(id, 0, averageLevel));
         }
     }
 
-    private void addOfflinePlayers(Map<Skill, List<SkillValue>> skillLb, List<SkillValue> powerLb, List<SkillValue> averageLb, long previousFetchTime) throws Exception {
+    private void putOfflinePlayers(Leaderboards lb, long previousFetchTime) throws Exception {
         List<UserState> offlineStates = plugin.getStorageProvider().loadStates(true, true, previousFetchTime);
         for (UserState state : offlineStates) {
             if (leaderboardExclusion.isExcludedPlayer(state.uuid())) {
@@ -221,8 +239,7 @@ public class LeaderboardManager {
                 double xp = state.skillXp().get(skill);
 
                 // Add to skill leaderboard
-                SkillValue skillValue = new SkillValue(state.uuid(), level, xp);
-                skillLb.computeIfAbsent(skill, k -> new ArrayList<>()).add(skillValue);
+                lb.skill(skill).put(new SkillValue(state.uuid(), level, xp));
 
                 if (skill.isEnabled()) {
                     powerLevel += level;
@@ -231,28 +248,23 @@ public class LeaderboardManager {
                 }
             }
             // Add to power and average leaderboards
-            powerLb.add(new SkillValue(state.uuid(), powerLevel, powerXp));
+            lb.power().put(new SkillValue(state.uuid(), powerLevel, powerXp));
 
             double averageLevel = (double) powerLevel / numEnabled;
-            averageLb.add(new SkillValue(state.uuid(), 0, averageLevel));
+            lb.average().put(new SkillValue(state.uuid(), 0, averageLevel));
         }
     }
 
-    private void sortLeaderboards(Map<Skill, List<SkillValue>> skillLb, List<SkillValue> powerLb, List<SkillValue> averageLb) {
-        LeaderboardSorter sorter = new LeaderboardSorter();
-        for (Skill skill : plugin.getSkillManager().getSkillValues()) {
-            skillLb.computeIfAbsent(skill, k -> new ArrayList<>()).sort(sorter);
+    private record Leaderboards(Map<Skill, LeaderboardTree> skills, LeaderboardTree power, LeaderboardTree average) {
+
+        Leaderboards() {
+            this(new ConcurrentHashMap<>(), new LeaderboardTree(new LeaderboardSorter()), new LeaderboardTree(new AverageSorter()));
         }
-        powerLb.sort(sorter);
-        AverageSorter averageSorter = new AverageSorter();
-        averageLb.sort(averageSorter);
 
-        // Add skill leaderboards to map
-        for (Skill skill : plugin.getSkillManager().getSkillValues()) {
-            setLeaderboard(skill, skillLb.get(skill));
+        LeaderboardTree skill(Skill skill) {
+            return skills.computeIfAbsent(skill, k -> new LeaderboardTree(new LeaderboardSorter()));
         }
-        setPowerLeaderboard(powerLb);
-        setAverageLeaderboard(averageLb);
+
     }
 
 }
@@ -0,0 +1,254 @@
+package dev.aurelium.auraskills.common.leaderboard;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A sorted leaderboard that can be updated one player at a time. Values are kept in a treap
+ * where each node stores the size of its subtree, so updates, rank lookups and reading a page
+ * of the leaderboard take logarithmic time instead of requiring the whole list to be sorted again.
+ * Each player has at most one value. The leaderboard is updated asynchronously while placeholders
+ * and menus read it on the main thread, so reads share a read lock and only wait for a single update.
+ */
+public class LeaderboardTree {
+
+    private final Comparator<SkillValue> comparator;
+    private final Map<UUID, SkillValue> values = new HashMap<>();
+    private final SplittableRandom random = new SplittableRandom();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root;
+
+    /**
+     * Creates an empty leaderboard.
+     *
+     * @param sorter the order of the leaderboard, ties are broken by player uuid
+     */
+    public LeaderboardTree(Comparator<SkillValue> sorter) {
+        this.comparator = sorter.thenComparing(SkillValue::id);
+    }
+
+    /**
+     * Sets the value of a player, replacing any previous value of the same player.
+     *
+     * @param value the value to set
+     * @return true if the leaderboard changed
+     */
+    public boolean put(SkillValue value) {
+        lock.writeLock().lock();
+        try {
+            SkillValue previous = values.put(value.id(), value);
+            if (value.equals(previous)) {
+                return false;
+            }
+            if (previous != null) {
+                root = delete(root, previous);
+            }
+            root = insert(root, new Node(value, random.nextInt()));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a player from the leaderboard.
+     *
+     * @param id the uuid of the player
+     * @return true if the player was on the leaderboard
+     */
+    public boolean remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            SkillValue previous = values.remove(id);
+            if (previous == null) {
+                return false;
+            }
+            root = delete(root, previous);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the rank of a player.
+     *
+     * @param id the uuid of the player
+     * @return the 1-based rank, or 0 if the player is not on the leaderboard
+     */
+    public int getRank(UUID id) {
+        lock.readLock().lock();
+        try {
+            SkillValue value = values.get(id);
+            if (value == null) {
+                return 0;
+            }
+            int before = 0;
+            Node node = root;
+            while (node != null) {
+                int cmp = comparator.compare(value, node.value);
+                if (cmp == 0) {
+                    return before + size(node.left) + 1;
+                } else if (cmp < 0) {
+                    node = node.left;
+                } else {
+                    before += size(node.left) + 1;
+                    node = node.right;
+                }
+            }
+            return 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the values in a range of places.
+     *
+     * @param from the 0-based index of the first value
+     * @param count the maximum number of values
+     * @return the values in order
+     */
+    public List<SkillValue> getRange(int from, int count) {
+        lock.readLock().lock();
+        try {
+            List<SkillValue> range = new ArrayList<>(Math.max(0, Math.min(count, size(root) - from)));
+            if (from < 0 || count <= 0) {
+                return range;
+            }
+            collect(root, 0, from, (int) Math.min((long) from + count, Integer.MAX_VALUE), range);
+            return range;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the whole leaderboard into a list. Prefer {@link #getRange(int, int)} or {@link #size()}
+     * when the full list is not needed.
+     *
+     * @return all values in order
+     */
+    public List<SkillValue> toList() {
+        lock.readLock().lock();
+        try {
+            return getRange(0, size(root));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collect(Node node, int offset, int from, int to, List<SkillValue> out) {
+        if (node == null) return;
+        int index = offset + size(node.left);
+        if (from < index) {
+            collect(node.left, offset, from, to, out);
+        }
+        if (index >= from && index < to) {
+            out.add(node.value);
+        }
+        if (index + 1 < to) {
+            collect(node.right, index + 1, from, to, out);
+        }
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.priority > node.priority) {
+            split(node, added.value, added);
+            return update(added);
+        }
+        if (comparator.compare(added.value, node.value) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return update(node);
+    }
+
+    // Splits the subtree into values less than the key (target.left) and the rest (target.right)
+    private void split(Node node, SkillValue key, Node target) {
+        if (node == null) {
+            target.left = null;
+            target.right = null;
+            return;
+        }
+        Node parts = new Node(null, 0);
+        if (comparator.compare(node.value, key) < 0) {
+            split(node.right, key, parts);
+            node.right = parts.left;
+            target.left = update(node);
+            target.right = parts.right;
+        } else {
+            split(node.left, key, parts);
+            node.left = parts.right;
+            target.left = parts.left;
+            target.right = update(node);
+        }
+    }
+
+    private Node delete(Node node, SkillValue value) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = comparator.compare(value, node.value);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        } else if (cmp < 0) {
+            node.left = delete(node.left, value);
+        } else {
+            node.right = delete(node.right, value);
+        }
+        return update(node);
+    }
+
+    // Merges two subtrees where every value in left is less than every value in right
+    private Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        } else {
+            right.left = merge(left, right.left);
+            return update(right);
+        }
+    }
+
+    private static Node update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static class Node {
+
+        private final SkillValue value;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(SkillValue value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+
+    }
+
+}
@@ -24,10 +24,16 @@ public abstract class LevelManager {
 
     private final AuraSkillsPlugin plugin;
     protected final XpRequirements xpRequirements;
+    private final XpBatcher xpBatcher;
 
     public LevelManager(AuraSkillsPlugin plugin) {
         this.plugin = plugin;
         this.xpRequirements = plugin.getXpRequirements();
+        this.xpBatcher = new XpBatcher(plugin, this);
+    }
+
+    public XpBatcher getXpBatcher() {
+        return xpBatcher;
     }
 
     public double getPermissionMultiplier(@NotNull User user, @Nullable Skill skill) {
@@ -50,6 +56,25 @@ public abstract class LevelManager {
     public void addXp(User user, Skill skill, @Nullable XpSource source, double amount) {
         if (amount == 0) return; // Ignore if source amount is 0
 
+        // Combine xp from sources over the batching window if enabled
+        if (source != null && plugin.configBoolean(Option.LEVELER_XP_BATCHING_ENABLED)) {
+            xpBatcher.add(user, skill, source, amount);
+            return;
+        }
+        addXpNow(user, skill, source, amount);
+    }
+
+    /**
+     * Adds xp without batching, applying multipliers and calling the xp gain event.
+     *
+     * @param user the user
+     * @param skill the skill
+     * @param source the source, or null
+     * @param amount the xp before multipliers
+     */
+    public void addXpNow(User user, Skill skill, @Nullable XpSource source, double amount) {
+        if (amount == 0) return;
+
         double amountToAdd = amount * calculateMultiplier(user, skill);
 
         // Call event
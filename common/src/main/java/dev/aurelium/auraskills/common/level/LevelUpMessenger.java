@@ -9,6 +9,7 @@ import dev.aurelium.auraskills.common.ability.AbilityUtil;
 import dev.aurelium.auraskills.common.config.Option;
 import dev.aurelium.auraskills.common.hooks.PlaceholderHook;
 import dev.aurelium.auraskills.common.message.MessageBuilder;
+import dev.aurelium.auraskills.common.message.MessageTemplate;
 import dev.aurelium.auraskills.common.message.type.LevelerFormat;
 import dev.aurelium.auraskills.common.reward.SkillReward;
 import dev.aurelium.auraskills.common.reward.type.MoneyReward;
@@ -25,6 +26,7 @@ import java.util.Locale;
 public class LevelUpMessenger {
 
     private static final int WRAP_LENGTH = 40;
+    private static final String[] ABILITY_LEVEL_UP_PLACEHOLDERS = {"ability", "previous", "level", "desc"};
     private final AuraSkillsPlugin plugin;
     private final User user;
     private final Locale locale;
@@ -109,17 +111,19 @@ public class LevelUpMessenger {
 
     private String getAbilityLevelUpMessage() {
         StringBuilder sb = new StringBuilder();
+        MessageTemplate template = plugin.getMessageProvider().getTemplate(LevelerFormat.ABILITY_LEVEL_UP, locale, false,
+                ABILITY_LEVEL_UP_PLACEHOLDERS);
         for (Ability ability : plugin.getAbilityManager().getAbilities(skill, level)) {
             if (!ability.isEnabled()) {
                 continue;
             }
             if (ability.getUnlock() != level) { // If ability is unlocked at this level
                 int level = user.getAbilityLevel(ability);
-                sb.append(TextUtil.replace(plugin.getMessageProvider().getRaw(LevelerFormat.ABILITY_LEVEL_UP, locale),
-                        "{ability}", ability.getDisplayName(locale),
-                        "{previous}", RomanNumber.toRoman(level - 1, plugin),
-                        "{level}", RomanNumber.toRoman(level, plugin),
-                        "{desc}", getAbilityLevelUpDesc(ability, level, locale)));
+                sb.append(template.render(
+                        ability.getDisplayName(locale),
+                        RomanNumber.toRoman(level - 1, plugin),
+                        RomanNumber.toRoman(level, plugin),
+                        getAbilityLevelUpDesc(ability, level, locale)));
             }
         }
         return sb.toString();
@@ -0,0 +1,100 @@
+package dev.aurelium.auraskills.common.level;
+
+import dev.aurelium.auraskills.api.skill.Skill;
+import dev.aurelium.auraskills.api.source.XpSource;
+import dev.aurelium.auraskills.common.AuraSkillsPlugin;
+import dev.aurelium.auraskills.common.config.Option;
+import dev.aurelium.auraskills.common.scheduler.TaskRunnable;
+import dev.aurelium.auraskills.common.user.User;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Combines xp gained from sources per user, skill, and source over a window of ticks when
+ * xp batching is enabled. Each window adds the combined xp through {@link LevelManager} once,
+ * so the multiplier, xp gain event, jobs income, level up check, and xp UI run once per window
+ * instead of once per block for burst sources. The flush timer only runs while xp is pending.
+ */
+public class XpBatcher {
+
+    private final AuraSkillsPlugin plugin;
+    private final LevelManager levelManager;
+    private final Map<BatchKey, Double> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean timerRunning = new AtomicBoolean(false);
+    private int ticksSinceFlush;
+
+    public XpBatcher(AuraSkillsPlugin plugin, LevelManager levelManager) {
+        this.plugin = plugin;
+        this.levelManager = levelManager;
+    }
+
+    private void startTimer() {
+        var task = new TaskRunnable() {
+            @Override
+            public void run() {
+                if (pending.isEmpty()) {
+                    stopTimer(this);
+                    return;
+                }
+                if (++ticksSinceFlush >= plugin.configInt(Option.LEVELER_XP_BATCHING_WINDOW_TICKS)) {
+                    ticksSinceFlush = 0;
+                    flush();
+                }
+            }
+        };
+        plugin.getScheduler().timerSync(task, 50L, 50L, TimeUnit.MILLISECONDS);
+    }
+
+    private void stopTimer(TaskRunnable task) {
+        task.cancel();
+        ticksSinceFlush = 0;
+        timerRunning.set(false);
+        // Xp added while stopping would otherwise wait until the next add
+        if (!pending.isEmpty() && timerRunning.compareAndSet(false, true)) {
+            startTimer();
+        }
+    }
+
+    public void add(User user, Skill skill, XpSource source, double amount) {
+        pending.merge(new BatchKey(user, skill, source), amount, Double::sum);
+        // Started on the first add so nothing runs while batching is disabled or idle
+        if (timerRunning.compareAndSet(false, true)) {
+            startTimer();
+        }
+    }
+
+    /**
+     * Adds all pending xp.
+     */
+    public void flush() {
+        for (BatchKey key : pending.keySet()) {
+            Double amount = pending.remove(key);
+            if (amount != null) {
+                levelManager.addXpNow(key.user(), key.skill(), key.source(), amount);
+            }
+        }
+    }
+
+    /**
+     * Adds the pending xp of a user, used before the user is saved.
+     *
+     * @param user the user
+     */
+    public void flush(User user) {
+        for (BatchKey key : pending.keySet()) {
+            if (key.user() != user) continue;
+            Double amount = pending.remove(key);
+            if (amount != null) {
+                levelManager.addXpNow(key.user(), key.skill(), key.source(), amount);
+            }
+        }
+    }
+
+    private record BatchKey(User user, Skill skill, XpSource source) {
+
+    }
+
+}
@@ -0,0 +1,170 @@
+package dev.aurelium.auraskills.common.loot;
+
+import dev.aurelium.auraskills.api.loot.Loot;
+import dev.aurelium.auraskills.api.loot.LootContext;
+import dev.aurelium.auraskills.api.loot.LootPool;
+import dev.aurelium.auraskills.api.loot.LootRequirements;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A {@link LootPool} that indexes its loot when created so selecting loot for a context doesn't
+ * need to filter and sum the whole loot list. Entries are grouped into buckets by the context values
+ * they define, and each bucket stores cumulative weights so an entry is picked with a binary search.
+ * Per-player requirements are checked only on the picked entry, rejecting it and picking again if
+ * it fails, which keeps the same probabilities as filtering the list first.
+ */
+public class CompiledLootPool extends LootPool {
+
+    private static final int MAX_REJECTIONS = 8;
+
+    private final Bucket all;
+    private final Map<String, ContextIndex> indexes;
+
+    public CompiledLootPool(String name, List<Loot> loot, double baseChance, int selectionPriority, boolean overrideVanillaLoot, Map<String, Object> options, LootRequirements requirements) {
+        super(name, loot, baseChance, selectionPriority, overrideVanillaLoot, options, requirements);
+        this.all = new Bucket(loot);
+        this.indexes = buildIndexes(loot);
+    }
+
+    /**
+     * Selects a random loot entry that matches the context and passes the requirements of the player.
+     * An entry matches if it doesn't define the context key or if its values for the key contain the context.
+     *
+     * @param contextKey the key of the context type, such as sources or mobs
+     * @param context the provided context, or null to match all entries
+     * @param uuid the uuid of the player to check loot requirements for
+     * @return the selected loot, or null if no entry is applicable
+     */
+    @Nullable
+    public Loot selectLoot(String contextKey, @Nullable LootContext context, UUID uuid) {
+        Bucket bucket = all;
+        if (context != null) {
+            ContextIndex index = indexes.get(contextKey);
+            if (index != null) {
+                bucket = index.buckets().getOrDefault(context, index.unspecified());
+            }
+        }
+        return bucket.select(uuid);
+    }
+
+    private static Map<String, ContextIndex> buildIndexes(List<Loot> loot) {
+        Set<String> keys = new HashSet<>();
+        for (Loot entry : loot) {
+            keys.addAll(entry.getValues().getContexts().keySet());
+        }
+        Map<String, ContextIndex> indexes = new HashMap<>();
+        for (String key : keys) {
+            // Entries that don't define the key match any context of the key
+            List<Loot> unspecified = new ArrayList<>();
+            Set<LootContext> values = new LinkedHashSet<>();
+            for (Loot entry : loot) {
+                Set<LootContext> contexts = entry.getValues().getContexts().get(key);
+                if (contexts == null) {
+                    unspecified.add(entry);
+                } else {
+                    values.addAll(contexts);
+                }
+            }
+            Map<LootContext, Bucket> buckets = new HashMap<>();
+            for (LootContext value : values) {
+                List<Loot> matching = new ArrayList<>();
+                for (Loot entry : loot) { // Iterate the full list to keep the original entry order
+                    Set<LootContext> contexts = entry.getValues().getContexts().get(key);
+                    if (contexts == null || contexts.contains(value)) {
+                        matching.add(entry);
+                    }
+                }
+                buckets.put(value, new Bucket(matching));
+            }
+            indexes.put(key, new ContextIndex(buckets, new Bucket(unspecified)));
+        }
+        return indexes;
+    }
+
+    private record ContextIndex(Map<LootContext, Bucket> buckets, Bucket unspecified) {
+
+    }
+
+    private static class Bucket {
+
+        private final Loot[] entries;
+        private final int[] cumulativeWeights;
+        private final int totalWeight;
+
+        private Bucket(List<Loot> loot) {
+            List<Loot> weighted = new ArrayList<>(loot.size());
+            for (Loot entry : loot) {
+                if (entry.getValues().getWeight() > 0) { // Entries without weight can never be selected
+                    weighted.add(entry);
+                }
+            }
+            this.entries = weighted.toArray(new Loot[0]);
+            this.cumulativeWeights = new int[entries.length];
+            int total = 0;
+            for (int i = 0; i < entries.length; i++) {
+                total += entries[i].getValues().getWeight();
+                cumulativeWeights[i] = total;
+            }
+            this.totalWeight = total;
+        }
+
+        @Nullable
+        private Loot select(UUID uuid) {
+            if (totalWeight == 0) {
+                return null;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int attempt = 0; attempt < MAX_REJECTIONS; attempt++) {
+                Loot loot = entries[indexOf(random.nextInt(totalWeight))];
+                if (loot.checkRequirements(uuid)) {
+                    return loot;
+                }
+            }
+            // Many entries fail requirements, select directly from the entries that pass
+            return selectFiltered(uuid, random);
+        }
+
+        // Finds the first entry whose cumulative weight is greater than the rolled value
+        private int indexOf(int rolled) {
+            int low = 0;
+            int high = cumulativeWeights.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulativeWeights[mid] > rolled) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        @Nullable
+        private Loot selectFiltered(UUID uuid, ThreadLocalRandom random) {
+            int passingWeight = 0;
+            for (Loot loot : entries) {
+                if (loot.checkRequirements(uuid)) {
+                    passingWeight += loot.getValues().getWeight();
+                }
+            }
+            if (passingWeight == 0) {
+                return null;
+            }
+            int selected = random.nextInt(passingWeight);
+            int currentWeight = 0;
+            for (Loot loot : entries) {
+                if (!loot.checkRequirements(uuid)) continue;
+                currentWeight += loot.getValues().getWeight();
+                if (selected < currentWeight) {
+                    return loot;
+                }
+            }
+            return null;
+        }
+
+    }
+
+}
@@ -165,8 +165,8 @@ public abstract class LootLoader {
                 }
                 index++;
             }
-            // Create pool
-            LootPool pool = new LootPool(poolName, lootList, baseChance, selectionPriority, overrideVanillaLoot, options, manager.getLootRequirements(poolNode));
+            // Create pool, indexing loot by context for fast selection
+            LootPool pool = new CompiledLootPool(poolName, lootList, baseChance, selectionPriority, overrideVanillaLoot, options, manager.getLootRequirements(poolNode));
             pools.add(pool);
         }
         // Sort pools by selection priority
@@ -39,6 +39,8 @@ public abstract class MessageProvider implements PolyglotProvider {
     @Nullable
     private Locale defaultLanguage; // Lazy loaded by getDefaultLanguage
     private final Map<LocalizedKey, Component> componentCache = new ConcurrentHashMap<>();
+    private final Map<LocalizedKey, String> formattedCache = new ConcurrentHashMap<>();
+    private final Map<TemplateKey, MessageTemplate> templateCache = new ConcurrentHashMap<>();
 
     public MessageProvider(AuraSkillsPlugin plugin) {
         this.plugin = plugin;
@@ -74,33 +76,28 @@ public abstract class MessageProvider implements PolyglotProvider {
     }
 
     public String get(MessageKey key, Locale locale) {
-        // Check if the converted component is already cached
+        // Check if the formatted string is already cached
         LocalizedKey localizedKey = new LocalizedKey(key, locale);
-        Component cached = componentCache.get(localizedKey);
+        String cached = formattedCache.get(localizedKey);
         if (cached != null) {
-            return componentToString(cached);
+            return cached;
         }
-        // Otherwise load and store to cache
-        String message = manager.get(locale, convertKey(key));
-        Component converted = stringToComponent(message);
-        componentCache.put(localizedKey, converted);
-        return componentToString(converted);
+        // Otherwise convert from the component and store to cache
+        String formatted = componentToString(getComponent(key, locale));
+        formattedCache.put(localizedKey, formatted);
+        return formatted;
     }
 
     @Nullable
     public String getOrNull(MessageKey key, Locale locale) {
-        // Check if the converted component is already cached
         LocalizedKey localizedKey = new LocalizedKey(key, locale);
-        Component cached = componentCache.get(localizedKey);
+        String cached = formattedCache.get(localizedKey);
         if (cached != null) {
-            return componentToString(cached);
+            return cached;
         }
-        // Otherwise load and store to cache
         String message = manager.get(locale, convertKey(key));
         if (!message.equals(key.getPath())) {
-            Component converted = stringToComponent(message);
-            componentCache.put(localizedKey, converted);
-            return componentToString(converted);
+            return get(key, locale);
         }
         return null;
     }
@@ -128,6 +125,22 @@ public abstract class MessageProvider implements PolyglotProvider {
         return manager.get(locale, convertKey(key));
     }
 
+    /**
+     * Gets a message split into literals and placeholder slots, cached by key, locale, and placeholder
+     * names until messages are reloaded.
+     *
+     * @param key the message key
+     * @param locale the locale to get in
+     * @param formatted whether formatting should be applied to the message before it is split
+     * @param placeholders the placeholder names without braces
+     * @return the message template
+     */
+    public MessageTemplate getTemplate(MessageKey key, Locale locale, boolean formatted, String... placeholders) {
+        TemplateKey templateKey = new TemplateKey(key, locale, formatted, List.of(placeholders));
+        return templateCache.computeIfAbsent(templateKey, k ->
+                MessageTemplate.compile(formatted ? get(key, locale) : getRaw(key, locale), placeholders));
+    }
+
     public String getSkillDisplayName(Skill skill, Locale locale, boolean formatted) {
         if (formatted) {
             return get(getSkillDisplayNameKey(skill), locale);
@@ -272,6 +285,12 @@ public abstract class MessageProvider implements PolyglotProvider {
 
     private void clearComponentCache() {
         componentCache.clear();
+        formattedCache.clear();
+        templateCache.clear();
+    }
+
+    private record TemplateKey(MessageKey key, Locale locale, boolean formatted, List<String> placeholders) {
+
     }
 
     @Override
@@ -0,0 +1,100 @@
+package dev.aurelium.auraskills.common.message;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message split into literal text and placeholder slots when it is loaded, so filling in
+ * placeholders takes a single pass instead of one string replace per placeholder.
+ */
+public class MessageTemplate {
+
+    private final String[] placeholders;
+    private final String[] literals; // One more literal than slots, literal i comes before slot i
+    private final int[] slots; // Index of the placeholder value in each slot
+    private final int literalLength;
+
+    private MessageTemplate(String[] placeholders, String[] literals, int[] slots) {
+        this.placeholders = placeholders;
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Splits a message into literals and slots for the given placeholders. Text in braces that
+     * isn't one of the placeholders is kept as a literal.
+     *
+     * @param message the message text
+     * @param placeholders the placeholder names without braces, in the order values are passed to {@link #render}
+     * @return the template
+     */
+    public static MessageTemplate compile(String message, String... placeholders) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        int literalStart = 0;
+        int open = message.indexOf('{');
+        while (open >= 0) {
+            int close = message.indexOf('}', open + 1);
+            if (close < 0) break;
+
+            int index = indexOf(placeholders, message, open + 1, close);
+            if (index >= 0) {
+                literals.add(message.substring(literalStart, open));
+                slots.add(index);
+                literalStart = close + 1;
+                open = message.indexOf('{', literalStart);
+            } else {
+                open = message.indexOf('{', open + 1);
+            }
+        }
+        literals.add(message.substring(literalStart));
+
+        int[] slotArray = new int[slots.size()];
+        for (int i = 0; i < slotArray.length; i++) {
+            slotArray[i] = slots.get(i);
+        }
+        return new MessageTemplate(placeholders, literals.toArray(new String[0]), slotArray);
+    }
+
+    private static int indexOf(String[] placeholders, String message, int start, int end) {
+        for (int i = 0; i < placeholders.length; i++) {
+            String placeholder = placeholders[i];
+            if (placeholder.length() == end - start && message.startsWith(placeholder, start)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Fills in the placeholders.
+     *
+     * @param values the placeholder values, in the order the placeholders were passed to {@link #compile}
+     * @return the rendered message
+     */
+    public String render(String... values) {
+        if (slots.length == 0) {
+            return literals[0];
+        }
+        int length = literalLength;
+        for (int slot : slots) {
+            length += values[slot].length();
+        }
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(literals[i]).append(values[slots[i]]);
+        }
+        sb.append(literals[slots.length]);
+        return sb.toString();
+    }
+
+    String[] getPlaceholders() {
+        return placeholders;
+    }
+
+}
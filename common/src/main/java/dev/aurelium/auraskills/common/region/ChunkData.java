@@ -1,20 +1,47 @@
 package dev.aurelium.auraskills.common.region;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import org.jetbrains.annotations.Nullable;
 
 public class ChunkData {
 
     private final Region region;
     private final byte x;
     private final byte z;
-    private final ConcurrentMap<BlockPosition, BlockPosition> placedBlocks;
+    private final PackedBlockSet placedBlocks;
+    private volatile boolean dirty;
+    @Nullable
+    private volatile byte[] encoded; // Serialized form from the last load or save, used when the chunk is not dirty
 
     public ChunkData(Region region, byte x, byte z) {
         this.region = region;
         this.x = x;
         this.z = z;
-        this.placedBlocks = new ConcurrentHashMap<>();
+        this.placedBlocks = new PackedBlockSet();
+    }
+
+    /**
+     * Packs a block position into an int key local to its chunk. The chunk-local x and z are stored
+     * in the low 8 bits and the y coordinate in the upper 24 bits.
+     *
+     * @param x the block x, either world or chunk-local
+     * @param y the block y
+     * @param z the block z, either world or chunk-local
+     * @return the packed position
+     */
+    public static int pack(int x, int y, int z) {
+        return (y << 8) | ((x & 15) << 4) | (z & 15);
+    }
+
+    public static int unpackX(int packed) {
+        return (packed >> 4) & 15;
+    }
+
+    public static int unpackY(int packed) {
+        return packed >> 8;
+    }
+
+    public static int unpackZ(int packed) {
+        return packed & 15;
     }
 
     public Region getRegion() {
@@ -29,20 +56,80 @@ public class ChunkData {
         return z;
     }
 
+    public boolean isPlacedBlock(int x, int y, int z) {
+        return placedBlocks.contains(pack(x, y, z));
+    }
+
     public boolean isPlacedBlock(BlockPosition blockPosition) {
-        return placedBlocks.containsKey(blockPosition);
+        return isPlacedBlock(blockPosition.getX(), blockPosition.getY(), blockPosition.getZ());
+    }
+
+    public boolean hasPlacedBlocks() {
+        return !placedBlocks.isEmpty();
+    }
+
+    public int getPlacedBlockCount() {
+        return placedBlocks.size();
+    }
+
+    /**
+     * Gets a copy of the placed blocks in the chunk as packed positions, see {@link #pack(int, int, int)}.
+     *
+     * @return the packed positions in no particular order
+     */
+    public int[] getPackedBlocks() {
+        return placedBlocks.toArray();
     }
 
-    public ConcurrentMap<BlockPosition, BlockPosition> getPlacedBlocks() {
-        return placedBlocks;
+    public void addPlacedBlock(int x, int y, int z) {
+        if (placedBlocks.add(pack(x, y, z))) {
+            markDirty();
+        }
     }
 
     public void addPlacedBlock(BlockPosition blockPosition) {
-        this.placedBlocks.put(blockPosition, blockPosition);
+        addPlacedBlock(blockPosition.getX(), blockPosition.getY(), blockPosition.getZ());
+    }
+
+    public void removePlacedBlock(int x, int y, int z) {
+        if (placedBlocks.remove(pack(x, y, z))) {
+            markDirty();
+        }
     }
 
     public void removePlacedBlock(BlockPosition blockPosition) {
-        this.placedBlocks.remove(blockPosition);
+        removePlacedBlock(blockPosition.getX(), blockPosition.getY(), blockPosition.getZ());
+    }
+
+    /**
+     * Adds a block read from the region file without marking the chunk as changed.
+     *
+     * @param packed the packed position of the block
+     */
+    void addLoadedBlock(int packed) {
+        placedBlocks.add(packed);
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void setDirty(boolean dirty) {
+        this.dirty = dirty;
+    }
+
+    @Nullable
+    byte[] getEncoded() {
+        return encoded;
+    }
+
+    void setEncoded(@Nullable byte[] encoded) {
+        this.encoded = encoded;
+    }
+
+    private void markDirty() {
+        this.dirty = true;
+        region.setDirty(true);
     }
 
 }
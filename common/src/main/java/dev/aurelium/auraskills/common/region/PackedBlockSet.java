@@ -0,0 +1,172 @@
+package dev.aurelium.auraskills.common.region;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash set of packed chunk-local block positions (see {@link ChunkData#pack(int, int, int)}).
+ * Stores positions as plain ints instead of boxed objects. All methods are synchronized since chunks are
+ * read on the main thread while regions are loaded and saved asynchronously.
+ */
+public class PackedBlockSet {
+
+    private static final int EMPTY = 0; // Slot marker, the real value 0 is tracked by containsZero
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] table;
+    private int size;
+    private boolean containsZero;
+
+    public PackedBlockSet() {
+        this.table = new int[MIN_CAPACITY];
+    }
+
+    public synchronized boolean contains(int value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+        int mask = table.length - 1;
+        int index = mix(value) & mask;
+        while (true) {
+            int current = table[index];
+            if (current == EMPTY) {
+                return false;
+            }
+            if (current == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Adds a value to the set.
+     *
+     * @param value the packed position
+     * @return true if the value was not already in the set
+     */
+    public synchronized boolean add(int value) {
+        if (value == EMPTY) {
+            if (containsZero) return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int mask = table.length - 1;
+        int index = mix(value) & mask;
+        while (true) {
+            int current = table[index];
+            if (current == EMPTY) {
+                table[index] = value;
+                size++;
+                // Keep load factor at or below 0.5
+                if (size * 2 > table.length) {
+                    rehash(table.length * 2);
+                }
+                return true;
+            }
+            if (current == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Removes a value from the set.
+     *
+     * @param value the packed position
+     * @return true if the value was in the set
+     */
+    public synchronized boolean remove(int value) {
+        if (value == EMPTY) {
+            if (!containsZero) return false;
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int mask = table.length - 1;
+        int index = mix(value) & mask;
+        while (true) {
+            int current = table[index];
+            if (current == EMPTY) {
+                return false;
+            }
+            if (current == value) {
+                table[index] = EMPTY;
+                size--;
+                shiftBack(index);
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copies the values of the set into a new array in no particular order.
+     *
+     * @return the values
+     */
+    public synchronized int[] toArray() {
+        int[] values = new int[size];
+        int i = 0;
+        if (containsZero) {
+            values[i++] = 0;
+        }
+        for (int value : table) {
+            if (value != EMPTY) {
+                values[i++] = value;
+            }
+        }
+        return values;
+    }
+
+    // Moves entries after a removed slot back so probe sequences stay unbroken
+    private void shiftBack(int removed) {
+        int mask = table.length - 1;
+        int gap = removed;
+        int index = (removed + 1) & mask;
+        while (table[index] != EMPTY) {
+            int home = mix(table[index]) & mask;
+            // Move the entry if its home slot is not cyclically within (gap, index]
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                table[gap] = table[index];
+                table[index] = EMPTY;
+                gap = index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void rehash(int capacity) {
+        int[] old = table;
+        table = new int[capacity];
+        int mask = capacity - 1;
+        for (int value : old) {
+            if (value == EMPTY) continue;
+            int index = mix(value) & mask;
+            while (table[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            table[index] = value;
+        }
+    }
+
+    private static int mix(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
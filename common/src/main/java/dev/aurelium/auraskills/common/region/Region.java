@@ -2,26 +2,38 @@ package dev.aurelium.auraskills.common.region;
 
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public class Region {
 
+    public static final int CHUNKS_PER_SIDE = 32;
+
     private final String worldName;
     private final int x;
     private final int z;
-    private final ConcurrentMap<ChunkCoordinate, ChunkData> chunks;
-    private boolean reload;
-    private boolean loading;
+    private final RegionCoordinate coordinate;
+    private final AtomicReferenceArray<ChunkData> chunks; // Indexed by region-relative chunk x and z
+    private volatile boolean loading;
+    private volatile CompletableFuture<Region> loadFuture;
+    private final List<PendingWrite> pendingWrites; // Block changes made while loading, guarded by itself
+    private boolean unloaded; // Guarded by pendingWrites
+    private volatile boolean dirty;
+    private volatile boolean loadFailed; // The file couldn't be fully read, so the region must never overwrite it
+    private long lastAccessed; // Only used to order regions for eviction, so stale reads are fine
 
     public Region(String worldName, int x, int z) {
         this.worldName = worldName;
         this.x = x;
         this.z = z;
-        this.chunks = new ConcurrentHashMap<>();
-        this.reload = false;
+        this.coordinate = new RegionCoordinate(worldName, x, z);
+        this.chunks = new AtomicReferenceArray<>(CHUNKS_PER_SIDE * CHUNKS_PER_SIDE);
         this.loading = false;
+        this.loadFuture = CompletableFuture.completedFuture(this);
+        this.pendingWrites = new ArrayList<>();
+        this.lastAccessed = System.currentTimeMillis();
     }
 
     public String getWorldName() {
@@ -36,33 +48,214 @@ public class Region {
         return z;
     }
 
+    public RegionCoordinate getCoordinate() {
+        return coordinate;
+    }
+
     @Nullable
     public ChunkData getChunkData(ChunkCoordinate chunkCoordinate) {
-        return chunks.get(chunkCoordinate);
+        return getChunkData(chunkCoordinate.getX(), chunkCoordinate.getZ());
+    }
+
+    /**
+     * Gets the data of a chunk in the region.
+     *
+     * @param chunkX the chunk x relative to the region, from 0 to 31
+     * @param chunkZ the chunk z relative to the region, from 0 to 31
+     * @return the chunk data, or null if the chunk has no data
+     */
+    @Nullable
+    public ChunkData getChunkData(int chunkX, int chunkZ) {
+        return chunks.get(index(chunkX, chunkZ));
+    }
+
+    /**
+     * Gets the data of a chunk in the region, creating it if it doesn't exist.
+     *
+     * @param chunkX the chunk x, either world or relative to the region
+     * @param chunkZ the chunk z, either world or relative to the region
+     * @return the chunk data
+     */
+    public ChunkData getOrCreateChunkData(int chunkX, int chunkZ) {
+        int index = index(chunkX, chunkZ);
+        ChunkData chunkData = chunks.get(index);
+        if (chunkData == null) {
+            // Chunk data always stores region-relative coordinates from 0 to 31
+            byte localX = (byte) (chunkX & (CHUNKS_PER_SIDE - 1));
+            byte localZ = (byte) (chunkZ & (CHUNKS_PER_SIDE - 1));
+            ChunkData created = new ChunkData(this, localX, localZ);
+            if (chunks.compareAndSet(index, null, created)) {
+                chunkData = created;
+            } else {
+                chunkData = chunks.get(index);
+            }
+        }
+        return chunkData;
     }
 
     public void setChunkData(ChunkCoordinate chunkCoordinate, ChunkData chunkData) {
-        chunks.put(chunkCoordinate, chunkData);
+        chunks.set(index(chunkCoordinate.getX(), chunkCoordinate.getZ()), chunkData);
     }
 
-    public Map<ChunkCoordinate, ChunkData> getChunkMap() {
-        return chunks;
+    /**
+     * Gets a snapshot of the chunks in the region that have data.
+     *
+     * @return the chunks with data
+     */
+    public List<ChunkData> getChunks() {
+        List<ChunkData> list = new ArrayList<>();
+        for (int i = 0; i < chunks.length(); i++) {
+            ChunkData chunkData = chunks.get(i);
+            if (chunkData != null) {
+                list.add(chunkData);
+            }
+        }
+        return list;
     }
 
-    public void setReload(boolean reload) {
-        this.reload = reload;
+    private record PendingWrite(int x, int y, int z, boolean placed) {
     }
 
-    public boolean shouldReload() {
-        return reload;
+    private static int index(int chunkX, int chunkZ) {
+        return ((chunkX & (CHUNKS_PER_SIDE - 1)) * CHUNKS_PER_SIDE) | (chunkZ & (CHUNKS_PER_SIDE - 1));
+    }
+
+    public long getLastAccessed() {
+        return lastAccessed;
+    }
+
+    public void touch() {
+        this.lastAccessed = System.currentTimeMillis();
     }
 
     public boolean isLoading() {
         return loading;
     }
 
-    public void setLoading(boolean loading) {
-        this.loading = loading;
+    /**
+     * Gets a future that is completed once the region has finished loading from its file.
+     * Already completed if the region isn't loading.
+     *
+     * @return the load future
+     */
+    public CompletableFuture<Region> getLoadFuture() {
+        return loadFuture;
+    }
+
+    void startLoading() {
+        this.loadFuture = new CompletableFuture<>();
+        this.loading = true;
+    }
+
+    /**
+     * Applies the block changes buffered while the region was loading and marks the load as done.
+     */
+    void finishLoading() {
+        synchronized (pendingWrites) {
+            for (PendingWrite write : pendingWrites) {
+                applyWrite(write.x(), write.y(), write.z(), write.placed());
+            }
+            pendingWrites.clear();
+            loading = false;
+        }
+        loadFuture.complete(this);
+    }
+
+    /**
+     * Marks a block as placed. If the region is still loading, the change is applied after the load
+     * finishes so it isn't overwritten by the data read from the file.
+     *
+     * @param x the block x
+     * @param y the block y
+     * @param z the block z
+     * @return false if the region was unloaded and the change wasn't applied
+     */
+    public boolean addPlacedBlock(int x, int y, int z) {
+        return write(x, y, z, true);
+    }
+
+    /**
+     * Removes a placed block. If the region is still loading, the change is applied after the load
+     * finishes so it isn't overwritten by the data read from the file.
+     *
+     * @param x the block x
+     * @param y the block y
+     * @param z the block z
+     * @return false if the region was unloaded and the change wasn't applied
+     */
+    public boolean removePlacedBlock(int x, int y, int z) {
+        return write(x, y, z, false);
+    }
+
+    private boolean write(int x, int y, int z, boolean placed) {
+        // Locked so a write can't land in the region after it was checked as clean and unloaded
+        synchronized (pendingWrites) {
+            if (unloaded) {
+                return false;
+            }
+            if (loading) {
+                pendingWrites.add(new PendingWrite(x, y, z, placed));
+            } else {
+                applyWrite(x, y, z, placed);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Marks the region as unloaded if it has no unsaved changes. Once unloaded, all writes
+     * are rejected so they can be applied to a newly loaded region instead of being lost.
+     *
+     * @return whether the region was marked as unloaded
+     */
+    boolean markUnloaded() {
+        synchronized (pendingWrites) {
+            if (loading || (dirty && !loadFailed)) {
+                return false;
+            }
+            unloaded = true;
+            return true;
+        }
+    }
+
+    private void applyWrite(int x, int y, int z, boolean placed) {
+        int chunkX = x >> 4;
+        int chunkZ = z >> 4;
+        if (placed) {
+            getOrCreateChunkData(chunkX, chunkZ).addPlacedBlock(x, y, z);
+        } else {
+            ChunkData chunkData = getChunkData(chunkX, chunkZ);
+            if (chunkData != null) {
+                chunkData.removePlacedBlock(x, y, z);
+            }
+        }
+    }
+
+    /**
+     * Gets whether any chunk in the region changed since the region was last loaded or saved.
+     *
+     * @return whether the region needs to be saved
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void setDirty(boolean dirty) {
+        this.dirty = dirty;
+    }
+
+    /**
+     * Gets whether reading the region file failed partway through. A failed region only holds part
+     * of the file's data, so it is never saved to avoid overwriting the intact file.
+     *
+     * @return whether the region failed to load
+     */
+    public boolean isLoadFailed() {
+        return loadFailed;
+    }
+
+    void setLoadFailed(boolean loadFailed) {
+        this.loadFailed = loadFailed;
     }
 
 }
@@ -0,0 +1,164 @@
+package dev.aurelium.auraskills.common.region;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads and writes the binary placed block region format (.asrb).
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * int    magic ("ASRB")
+ * byte   version
+ * int    chunk count
+ * per chunk:
+ *   byte   chunk x (relative to region)
+ *   byte   chunk z (relative to region)
+ *   int    block count
+ *   varint first packed position, then varint deltas between sorted packed positions
+ * </pre>
+ * Positions are packed with {@link ChunkData#pack(int, int, int)}, so sorting the packed values orders blocks
+ * by y, then x, then z and keeps the deltas small.
+ */
+public final class RegionFile {
+
+    public static final String EXTENSION = ".asrb";
+    public static final String LEGACY_EXTENSION = ".asrg";
+
+    private static final int MAGIC = 0x41535242; // ASRB
+    private static final byte VERSION = 1;
+
+    private RegionFile() {
+    }
+
+    public static void read(File file, Region region) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Invalid region file header in " + file.getName());
+            }
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported region file version " + version + " in " + file.getName());
+            }
+            int chunkCount = in.readInt();
+            for (int i = 0; i < chunkCount; i++) {
+                byte chunkX = in.readByte();
+                byte chunkZ = in.readByte();
+                int blockCount = in.readInt();
+
+                boolean existing = region.getChunkData(chunkX, chunkZ) != null;
+                ChunkData chunkData = region.getOrCreateChunkData(chunkX, chunkZ);
+                // Keep the raw chunk bytes so unchanged chunks don't need to be encoded again when saving
+                ByteArrayOutputStream raw = new ByteArrayOutputStream(blockCount * 2 + 6);
+                DataOutputStream rawOut = new DataOutputStream(raw);
+                rawOut.writeByte(chunkX);
+                rawOut.writeByte(chunkZ);
+                rawOut.writeInt(blockCount);
+
+                long packed = 0;
+                for (int j = 0; j < blockCount; j++) {
+                    long value = readVarLong(in, rawOut);
+                    packed = j == 0 ? (int) value : packed + value;
+                    chunkData.addLoadedBlock((int) packed);
+                }
+                // Chunks that already had blocks in memory are a merge and must be encoded again
+                if (!existing) {
+                    chunkData.setEncoded(raw.toByteArray());
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the region to a temporary file and atomically moves it over the target file.
+     * Only chunks that changed since they were last read or written are encoded again.
+     *
+     * @param file the target region file
+     * @param region the region to write
+     * @return false if the region has no placed blocks, in which case nothing is written
+     * @throws IOException if writing fails
+     */
+    public static boolean write(File file, Region region) throws IOException {
+        List<byte[]> chunks = new ArrayList<>();
+        for (ChunkData chunkData : region.getChunks()) {
+            byte[] encoded = chunkData.getEncoded();
+            if (encoded == null || chunkData.isDirty()) {
+                chunkData.setDirty(false); // Cleared first so changes made while encoding mark the chunk again
+                encoded = encodeChunk(chunkData);
+                chunkData.setEncoded(encoded);
+            }
+            if (encoded.length > 0) {
+                chunks.add(encoded);
+            }
+        }
+        if (chunks.isEmpty()) {
+            return false;
+        }
+        File tempFile = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(chunks.size());
+            for (byte[] chunk : chunks) {
+                out.write(chunk);
+            }
+        }
+        try {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return true;
+    }
+
+    private static byte[] encodeChunk(ChunkData chunkData) throws IOException {
+        int[] packed = chunkData.getPackedBlocks();
+        if (packed.length == 0) {
+            return new byte[0];
+        }
+        Arrays.sort(packed);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(packed.length * 2 + 6);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(chunkData.getX());
+        out.writeByte(chunkData.getZ());
+        out.writeInt(packed.length);
+        for (int j = 0; j < packed.length; j++) {
+            if (j == 0) {
+                writeVarLong(out, packed[0] & 0xFFFFFFFFL);
+            } else {
+                writeVarLong(out, (long) packed[j] - packed[j - 1]);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInput in, DataOutput raw) throws IOException {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 63) {
+                throw new IOException("Malformed varint in region file");
+            }
+            b = in.readByte();
+            raw.writeByte(b);
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+}
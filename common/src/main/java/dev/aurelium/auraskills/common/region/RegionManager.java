@@ -1,6 +1,7 @@
 package dev.aurelium.auraskills.common.region;
 
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
+import dev.aurelium.auraskills.common.config.Option;
 import net.querz.nbt.io.NBTUtil;
 import net.querz.nbt.io.NamedTag;
 import net.querz.nbt.tag.CompoundTag;
@@ -10,20 +11,33 @@ import org.jetbrains.annotations.Nullable;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public abstract class RegionManager {
 
     protected final AuraSkillsPlugin plugin;
     protected final ConcurrentMap<RegionCoordinate, Region> regions;
-    private boolean saving;
+    private final ConcurrentMap<RegionCoordinate, Integer> loadedChunkCounts; // Number of loaded chunks in each region
+    private final AtomicBoolean saving;
+    private final AtomicBoolean evictionPending; // Only one eviction pass is queued at a time
+    private volatile boolean evictionStalled; // The last pass found nothing to evict
+    @Nullable
+    private volatile Region lastRegion; // Most lookups hit the same region as the previous one
 
     public RegionManager(AuraSkillsPlugin plugin) {
         this.plugin = plugin;
         this.regions = new ConcurrentHashMap<>();
-        this.saving = false;
+        this.loadedChunkCounts = new ConcurrentHashMap<>();
+        this.saving = new AtomicBoolean(false);
+        this.evictionPending = new AtomicBoolean(false);
     }
 
     @Nullable
@@ -31,44 +45,242 @@ public abstract class RegionManager {
         return regions.get(regionCoordinate);
     }
 
-    public abstract boolean isChunkLoaded(String worldName, int chunkX, int chunkZ);
+    /**
+     * Gets a loaded region without allocating a {@link RegionCoordinate} when the region
+     * is the same as the one from the previous lookup.
+     *
+     * @param worldName the name of the world
+     * @param regionX the region x
+     * @param regionZ the region z
+     * @return the region, or null if not loaded
+     */
+    @Nullable
+    public Region getRegion(String worldName, int regionX, int regionZ) {
+        Region last = lastRegion;
+        if (last != null && last.getX() == regionX && last.getZ() == regionZ && last.getWorldName().equals(worldName)
+                && regions.get(last.getCoordinate()) == last) { // The cached region may have been unloaded since
+            last.touch();
+            return last;
+        }
+        Region region = regions.get(new RegionCoordinate(worldName, regionX, regionZ));
+        if (region != null) {
+            region.touch();
+            lastRegion = region;
+        }
+        return region;
+    }
 
     public void clearRegionMap() {
         regions.clear();
+        loadedChunkCounts.clear();
+        lastRegion = null;
     }
 
     public void setRegion(RegionCoordinate coordinate, Region region) {
         regions.put(coordinate, region);
+        lastRegion = null;
+        checkRegionLimit();
     }
 
-    public void loadRegion(Region region) {
-        if (region.isLoading()) return;
-        region.setLoading(true);
+    /**
+     * Gets a region, starting to load it asynchronously if it isn't in memory. Only one load
+     * is ever started for a region; concurrent callers get the same region instance. Blocks added
+     * or removed while the region is loading are buffered and applied once the load finishes.
+     *
+     * @param worldName the name of the world
+     * @param regionX the region x
+     * @param regionZ the region z
+     * @return the region, which may still be loading
+     */
+    public Region getOrLoadRegion(String worldName, int regionX, int regionZ) {
+        Region region = getRegion(worldName, regionX, regionZ);
+        if (region != null) {
+            return region;
+        }
+        Region created = new Region(worldName, regionX, regionZ);
+        created.startLoading(); // Marked before the region is visible to other threads
+        // Waits for a concurrent unload of the same region to finish removing it
+        region = regions.computeIfAbsent(created.getCoordinate(), key -> created);
+        if (region != created) {
+            return region; // Another thread started loading first
+        }
+        plugin.getScheduler().executeAsync(() -> loadRegion(created));
+        checkRegionLimit();
+        return created;
+    }
+
+    /**
+     * Gets a region once it has finished loading, see {@link #getOrLoadRegion(String, int, int)}.
+     *
+     * @param worldName the name of the world
+     * @param regionX the region x
+     * @param regionZ the region z
+     * @return a future completed with the loaded region
+     */
+    public CompletableFuture<Region> loadRegionAsync(String worldName, int regionX, int regionZ) {
+        return getOrLoadRegion(worldName, regionX, regionZ).getLoadFuture();
+    }
+
+    private void checkRegionLimit() {
+        // Rescanning is pointless until a chunk unloads, the periodic save pass retries regardless
+        if (evictionStalled || regions.size() <= getMaxLoadedRegions()) {
+            return;
+        }
+        if (evictionPending.compareAndSet(false, true)) {
+            plugin.getScheduler().executeAsync(() -> {
+                try {
+                    evictLeastRecentlyUsed();
+                } finally {
+                    evictionPending.set(false);
+                }
+            });
+        }
+    }
 
-        RegionCoordinate regionCoordinate = new RegionCoordinate(region.getWorldName(), region.getX(), region.getZ());
-        String worldName = regionCoordinate.getWorldName();
-        int regionX = regionCoordinate.getX();
-        int regionZ = regionCoordinate.getZ();
+    /**
+     * Records that a chunk was loaded, keeping its region in memory until all of its chunks are unloaded.
+     *
+     * @param worldName the name of the world
+     * @param chunkX the chunk x
+     * @param chunkZ the chunk z
+     */
+    public void handleChunkLoad(String worldName, int chunkX, int chunkZ) {
+        loadedChunkCounts.merge(new RegionCoordinate(worldName, chunkX >> 5, chunkZ >> 5), 1, Integer::sum);
+    }
 
-        File file = new File(plugin.getPluginFolder() + "/regiondata/" + worldName + "/r." + regionX + "." + regionZ + ".asrg");
-        if (file.exists()) {
-            if (saving) {
-                region.setReload(true);
+    /**
+     * Records that a chunk was unloaded. When the last loaded chunk of a region is unloaded,
+     * the region is saved and removed from memory asynchronously.
+     *
+     * @param worldName the name of the world
+     * @param chunkX the chunk x
+     * @param chunkZ the chunk z
+     */
+    public void handleChunkUnload(String worldName, int chunkX, int chunkZ) {
+        RegionCoordinate coordinate = new RegionCoordinate(worldName, chunkX >> 5, chunkZ >> 5);
+        Integer remaining = loadedChunkCounts.computeIfPresent(coordinate, (key, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null) {
+            evictionStalled = false; // Regions without loaded chunks can be evicted again
+        }
+        if (remaining == null && regions.containsKey(coordinate)) {
+            plugin.getScheduler().executeAsync(() -> unloadRegion(coordinate));
+        }
+    }
+
+    /**
+     * Saves and removes all regions of a world from memory.
+     *
+     * @param worldName the name of the world
+     */
+    public void handleWorldUnload(String worldName) {
+        loadedChunkCounts.keySet().removeIf(coordinate -> coordinate.getWorldName().equals(worldName));
+        for (RegionCoordinate coordinate : regions.keySet()) {
+            if (coordinate.getWorldName().equals(worldName)) {
+                plugin.getScheduler().executeAsync(() -> unloadRegion(coordinate));
             }
-            try {
-                loadNbtFile(file, region);
-            } catch (IOException e) {
-                boolean deleted = file.delete();
-                if (deleted) {
-                    plugin.logger().warn("Deleted " + file.getName() + " because it was corrupted, this won't affect anything");
+        }
+    }
+
+    public boolean hasLoadedChunks(RegionCoordinate coordinate) {
+        return loadedChunkCounts.containsKey(coordinate);
+    }
+
+    /**
+     * Saves a region and removes it from memory if none of its chunks are loaded.
+     *
+     * @param coordinate the coordinate of the region
+     * @return whether the region was removed from memory
+     */
+    private boolean unloadRegion(RegionCoordinate coordinate) {
+        if (hasLoadedChunks(coordinate)) return false; // A chunk was loaded again
+        Region region = regions.get(coordinate);
+        if (region == null || region.isLoading()) return false;
+        saveRegion(region);
+        // Checked and removed atomically so a lookup or write can't use the region after it was removed
+        Region remaining = regions.computeIfPresent(coordinate, (key, current) -> {
+            if (current != region || hasLoadedChunks(key)) {
+                return current;
+            }
+            // Keeps the region if it changed during the save so the change isn't lost
+            return region.markUnloaded() ? null : current;
+        });
+        if (remaining != null) {
+            return false;
+        }
+        if (lastRegion == region) {
+            lastRegion = null;
+        }
+        return true;
+    }
+
+    /**
+     * Unloads the least recently used regions without loaded chunks until the number of regions
+     * in memory is within the max_loaded_regions option. Regions with loaded chunks are never evicted
+     * since they are needed to check placed blocks.
+     */
+    private void evictLeastRecentlyUsed() {
+        int max = getMaxLoadedRegions();
+        int excess = regions.size() - max;
+        if (excess <= 0) {
+            evictionStalled = false;
+            return;
+        }
+
+        List<Map.Entry<RegionCoordinate, Region>> candidates = new ArrayList<>();
+        for (Map.Entry<RegionCoordinate, Region> entry : regions.entrySet()) {
+            if (!hasLoadedChunks(entry.getKey())) {
+                candidates.add(entry);
+            }
+        }
+        candidates.sort(Comparator.comparingLong(entry -> entry.getValue().getLastAccessed()));
+        int evicted = 0;
+        for (int i = 0; i < candidates.size() && regions.size() > max; i++) {
+            if (unloadRegion(candidates.get(i).getKey())) {
+                evicted++;
+            }
+        }
+        evictionStalled = evicted == 0;
+    }
+
+    private int getMaxLoadedRegions() {
+        int max = plugin.configInt(Option.CHECK_BLOCK_REPLACE_MAX_LOADED_REGIONS);
+        return max > 0 ? max : Integer.MAX_VALUE;
+    }
+
+    private void loadRegion(Region region) {
+        String worldName = region.getWorldName();
+        int regionX = region.getX();
+        int regionZ = region.getZ();
+
+        File file = getRegionFile(worldName, regionX, regionZ, RegionFile.EXTENSION);
+        File legacyFile = getRegionFile(worldName, regionX, regionZ, RegionFile.LEGACY_EXTENSION);
+        try {
+            if (file.exists() || legacyFile.exists()) {
+                File loadedFile = file.exists() ? file : legacyFile;
+                try {
+                    if (loadedFile == file) {
+                        RegionFile.read(file, region);
+                    } else {
+                        // Legacy NBT files are converted to the binary format on the next save
+                        loadNbtFile(legacyFile, region);
+                    }
+                } catch (IOException e) {
+                    boolean deleted = loadedFile.delete();
+                    if (deleted) {
+                        plugin.logger().warn("Deleted " + loadedFile.getName() + " because it was corrupted, this won't affect anything");
+                    }
+                } catch (Exception e) {
+                    region.setLoadFailed(true);
+                    plugin.logger().warn("Failed to load region file " + loadedFile.getName() + ", changes to placed blocks in this region won't be saved", e);
                 }
-                region.setReload(false);
-            } catch (Exception e) {
-                e.printStackTrace();
-                region.setReload(false);
             }
+        } finally {
+            region.finishLoading();
         }
-        region.setLoading(false);
+    }
+
+    private File getRegionFile(String worldName, int regionX, int regionZ, String extension) {
+        return new File(plugin.getPluginFolder() + "/regiondata/" + worldName + "/r." + regionX + "." + regionZ + extension);
     }
 
     private void loadNbtFile(File file, Region region) throws IOException {
@@ -89,135 +301,81 @@ public abstract class RegionManager {
                 loadChunk(region, chunkCoordinate, chunkCompound);
             }
         }
-        region.setReload(false);
     }
 
     private void loadChunk(Region region, ChunkCoordinate chunkCoordinate, CompoundTag compound) {
-        ChunkData chunkData = region.getChunkData(chunkCoordinate);
-        if (chunkData == null) {
-            chunkData = new ChunkData(region, chunkCoordinate.getX(), chunkCoordinate.getZ());
-        }
+        ChunkData chunkData = region.getOrCreateChunkData(chunkCoordinate.getX(), chunkCoordinate.getZ());
         ListTag<?> placedBlocks = compound.getListTag("placed_blocks");
         for (CompoundTag block : placedBlocks.asCompoundTagList()) {
             int x = block.getInt("x");
             int y = block.getInt("y");
             int z = block.getInt("z");
-            chunkData.addPlacedBlock(new BlockPosition(x, y, z));
+            chunkData.addLoadedBlock(ChunkData.pack(x, y, z));
+        }
+        region.setDirty(true); // Save in the binary format
+    }
+
+    private void saveRegion(Region region) {
+        // Regions can be saved by the save timer and by unloading at the same time
+        synchronized (region) {
+            saveRegionFile(region);
         }
-        region.setChunkData(chunkCoordinate, chunkData);
     }
 
-    private void saveRegion(String worldName, int regionX, int regionZ) {
-        RegionCoordinate regionCoordinate = new RegionCoordinate(worldName, regionX, regionZ);
-        Region region = getRegion(regionCoordinate);
-        if (region == null) return;
-        if (region.getChunkMap().isEmpty()) return;
+    private void saveRegionFile(Region region) {
+        String worldName = region.getWorldName();
+        int regionX = region.getX();
+        int regionZ = region.getZ();
+        // Don't overwrite the file with a partially loaded region
+        if (region.isLoading()) return;
+        // Don't overwrite an intact file with the partial data of a region that failed to load
+        if (region.isLoadFailed()) return;
+        // Skip regions that haven't changed since they were loaded or last saved
+        if (!region.isDirty()) return;
 
-        File file = new File(plugin.getPluginFolder() + "/regiondata/" + worldName + "/r." + regionX + "." + regionZ + ".asrg");
+        File file = getRegionFile(worldName, regionX, regionZ, RegionFile.EXTENSION);
+        File legacyFile = getRegionFile(worldName, regionX, regionZ, RegionFile.LEGACY_EXTENSION);
+        region.setDirty(false); // Cleared first so changes made while writing are saved next time
         try {
-            if (!file.exists()) {
-                File parent = file.getParentFile();
-                if (parent != null && !parent.exists()) {
-                    if (!parent.mkdirs()) {
-                        plugin.logger().warn("Failed to create directory " + parent.getName());
-                    }
+            File parent = file.getParentFile();
+            if (parent != null && !parent.exists()) {
+                if (!parent.mkdirs()) {
+                    plugin.logger().warn("Failed to create directory " + parent.getName());
                 }
-                NBTUtil.write(new NamedTag(file.getName(), new CompoundTag()), file);
             }
-            NamedTag namedTag = NBTUtil.read(file);
-            if (!(namedTag.getTag() instanceof CompoundTag)) {
-                namedTag.setTag(new CompoundTag());
-            }
-            CompoundTag compoundTag = (CompoundTag) namedTag.getTag();
-            for (ChunkData chunkData : region.getChunkMap().values()) {
-                // Save each chunk
-                saveChunk(compoundTag, chunkData);
-            }
-            if (compoundTag.keySet().isEmpty()) {
-                if (file.exists()) {
-                    try {
-                        Files.delete(file.toPath());
-                    } catch (Exception ignored) {
-                    }
-                }
-            } else {
-                NBTUtil.write(namedTag, file);
+            if (!RegionFile.write(file, region)) {
+                // Region no longer has any placed blocks
+                Files.deleteIfExists(file.toPath());
             }
+            // Region has been migrated to the binary format
+            Files.deleteIfExists(legacyFile.toPath());
         } catch (IOException e) {
             e.printStackTrace();
-            boolean deleted = file.delete();
-            if (deleted) {
-                plugin.logger().warn("Deleted " + file.getName() + " because it was corrupted, this won't affect anything");
-            }
-        }
-    }
-
-    private void saveChunk(CompoundTag compound, ChunkData chunkData) {
-        String chunkName = "chunk[" + chunkData.getX() + "," + chunkData.getZ() + "]";
-        CompoundTag chunk = compound.getCompoundTag(chunkName);
-        if (chunk == null) {
-            chunk = new CompoundTag();
-            compound.put(chunkName, chunk);
-        }
-        ListTag<?> listTag = chunk.getListTag("placed_blocks");
-        ListTag<CompoundTag> placedBlocks;
-        if (listTag != null) {
-            placedBlocks = listTag.asCompoundTagList();
-        } else {
-            // Create and add placed_blocks ListTag if not exists
-            placedBlocks = new ListTag<>(CompoundTag.class);
-            chunk.put("placed_blocks", placedBlocks);
-        }
-        placedBlocks.clear(); // Clears list of block positions to account for removed positions
-        // Adds all positions to nbt compound list
-        for (BlockPosition block : chunkData.getPlacedBlocks().keySet()) {
-            CompoundTag blockCompound = new CompoundTag();
-            blockCompound.putInt("x", block.getX());
-            blockCompound.putInt("y", block.getY());
-            blockCompound.putInt("z", block.getZ());
-            placedBlocks.add(blockCompound);
-        }
-        // Remove tags that are empty
-        if (placedBlocks.size() == 0) {
-            chunk.remove("placed_blocks");
-        }
-        if (chunk.keySet().isEmpty()) {
-            compound.remove(chunkName);
+            region.setDirty(true);
         }
     }
 
     public void saveAllRegions(boolean clearUnused, boolean serverShutdown) {
-        if (saving && !serverShutdown) return;
-        saving = true;
-        for (Region region : regions.values()) {
+        if (!saving.compareAndSet(false, true) && !serverShutdown) return;
+        for (Map.Entry<RegionCoordinate, Region> entry : regions.entrySet()) {
             try {
-                saveRegion(region.getWorldName(), region.getX(), region.getZ());
+                saveRegion(entry.getValue());
                 // Clear region from memory if no chunks are loaded in it
-                if (clearUnused) {
-                    if (isRegionUnused(region)) {
-                        regions.remove(new RegionCoordinate(region.getWorldName(), region.getX(), region.getZ()));
-                    }
+                if (clearUnused && !hasLoadedChunks(entry.getKey())) {
+                    unloadRegion(entry.getKey());
                 }
             } catch (Exception e) {
                 e.printStackTrace();
             }
         }
+        if (clearUnused) {
+            evictLeastRecentlyUsed();
+        }
         if (!serverShutdown) {
-            plugin.getScheduler().scheduleSync(() -> saving = false, 1, TimeUnit.SECONDS);
+            plugin.getScheduler().scheduleSync(() -> saving.set(false), 1, TimeUnit.SECONDS);
         } else {
-            saving = false;
+            saving.set(false);
         }
     }
 
-    private boolean isRegionUnused(Region region) {
-        for (int chunkX = region.getX() * 32; chunkX < region.getX() * 32 + 32; chunkX++) {
-            for (int chunkZ = region.getZ() * 32; chunkZ < region.getZ() * 32 + 32; chunkZ++) {
-                if (isChunkLoaded(region.getWorldName(), chunkX, chunkZ)) {
-                    return false;
-                }
-            }
-        }
-        return true;
-    }
-
 }
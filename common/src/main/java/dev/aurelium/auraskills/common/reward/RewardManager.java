@@ -6,6 +6,8 @@ import dev.aurelium.auraskills.api.skill.Skill;
 import dev.aurelium.auraskills.api.stat.Stat;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
 import dev.aurelium.auraskills.common.config.Option;
+import dev.aurelium.auraskills.common.hooks.PermissionNode;
+import dev.aurelium.auraskills.common.hooks.PermissionsHook;
 import dev.aurelium.auraskills.common.reward.parser.RewardParser;
 import dev.aurelium.auraskills.common.reward.type.CommandReward;
 import dev.aurelium.auraskills.common.user.User;
@@ -139,6 +141,7 @@ public class RewardManager {
     }
 
     protected void registerRewardTable(Skill skill, RewardTable table) {
+        table.buildStatTable();
         rewardTables.put(skill, table);
     }
 
@@ -217,9 +220,32 @@ public class RewardManager {
      */
     public void updatePermissions(User user) {
         if (user == null) return;
+        if (!plugin.getHookManager().isRegistered(PermissionsHook.class)) return;
+
+        Set<PermissionNode> granted = new HashSet<>();
+        Set<PermissionNode> all = new HashSet<>();
         for (Skill skill : plugin.getSkillManager().getSkillValues()) {
-            plugin.getRewardManager().getRewardTable(skill).applyPermissions(user, user.getSkillLevel(skill));
+            getRewardTable(skill).collectPermissions(user.getSkillLevel(skill), granted, all);
+        }
+        Set<PermissionNode> synced = user.getSyncedPermissions();
+        if (granted.equals(synced)) {
+            return; // Nothing changed since the last update
+        }
+        // Only send the difference to the last synced state, or the full state the first time
+        List<PermissionNode> toGrant = new ArrayList<>();
+        List<PermissionNode> toRevoke = new ArrayList<>();
+        for (PermissionNode node : granted) {
+            if (synced == null || !synced.contains(node)) {
+                toGrant.add(node);
+            }
+        }
+        for (PermissionNode node : synced != null ? synced : all) {
+            if (!granted.contains(node)) {
+                toRevoke.add(node);
+            }
         }
+        plugin.getHookManager().getHook(PermissionsHook.class).updatePermissions(user, toGrant, toRevoke);
+        user.setSyncedPermissions(granted);
     }
 
     public void applyLevelUpCommands(User user, Skill skill, int oldLevel, int newLevel) {
@@ -4,15 +4,17 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import dev.aurelium.auraskills.api.stat.Stat;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
-import dev.aurelium.auraskills.common.hooks.PermissionsHook;
+import dev.aurelium.auraskills.common.hooks.PermissionNode;
 import dev.aurelium.auraskills.common.reward.type.PermissionReward;
 import dev.aurelium.auraskills.common.reward.type.StatReward;
-import dev.aurelium.auraskills.common.user.User;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class RewardTable {
@@ -20,6 +22,10 @@ public class RewardTable {
     private final AuraSkillsPlugin plugin;
     private final List<Stat> statsLeveled;
     private final Map<Integer, List<SkillReward>> rewards;
+    @Nullable
+    private volatile StatTable statTable; // Cumulative stat rewards, built on first use after rewards change
+    @Nullable
+    private volatile Map<Integer, ImmutableList<PermissionReward>> permissionRewards;
 
     public RewardTable(AuraSkillsPlugin plugin) {
         this.plugin = plugin;
@@ -42,6 +48,9 @@ public class RewardTable {
             if (!statsLeveled.contains(statReward.getStat())) {
                 statsLeveled.add(statReward.getStat());
             }
+            statTable = null;
+        } else if (reward instanceof PermissionReward) {
+            permissionRewards = null;
         }
     }
 
@@ -86,31 +95,116 @@ public class RewardTable {
 
     public Map<Stat, Double> getStatLevels(int level) {
         Map<Stat, Double> statsMap = new ConcurrentHashMap<>();
-        Map<Integer, ImmutableList<StatReward>> statRewardMap = searchRewards(StatReward.class);
-        for (int i = plugin.config().getStartLevel() + 1; i <= level; i++) {
-            ImmutableList<StatReward> statRewardList = statRewardMap.get(i);
-            if (statRewardList != null) {
-                for (StatReward statReward : statRewardList) {
-                    double existing = statsMap.getOrDefault(statReward.getStat(), 0.0);
-                    statsMap.put(statReward.getStat(), existing + statReward.getValue());
-                }
+        StatTable table = getStatTable();
+        for (Map.Entry<Stat, double[]> entry : table.cumulative().entrySet()) {
+            double value = table.get(entry.getValue(), level);
+            if (value != 0.0) {
+                statsMap.put(entry.getKey(), value);
             }
         }
         return statsMap;
     }
 
-    public void applyPermissions(User player, int level) {
-        Map<Integer, ImmutableList<PermissionReward>> permissionRewardMap = searchRewards(PermissionReward.class);
+    /**
+     * Gets the total amount of a stat rewarded from the start level up to a level.
+     *
+     * @param stat the stat
+     * @param level the skill level
+     * @return the sum of the stat rewards
+     */
+    public double getStatLevel(Stat stat, int level) {
+        StatTable table = getStatTable();
+        double[] values = table.cumulative().get(stat);
+        if (values == null) {
+            return 0.0;
+        }
+        return table.get(values, level);
+    }
+
+    /**
+     * Builds the cumulative stat reward table ahead of the first lookup.
+     */
+    public void buildStatTable() {
+        getStatTable();
+    }
+
+    private StatTable getStatTable() {
+        StatTable table = statTable;
+        int startLevel = plugin.config().getStartLevel();
+        if (table == null || table.startLevel() != startLevel) {
+            table = StatTable.build(searchRewards(StatReward.class), startLevel);
+            statTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * Prefix sums of stat rewards, where index i of an array is the total amount of the stat
+     * rewarded at levels from startLevel + 1 up to i.
+     */
+    private record StatTable(int startLevel, Map<Stat, double[]> cumulative) {
+
+        static StatTable build(Map<Integer, ImmutableList<StatReward>> statRewardMap, int startLevel) {
+            int maxLevel = startLevel;
+            for (int level : statRewardMap.keySet()) {
+                maxLevel = Math.max(maxLevel, level);
+            }
+            Map<Stat, double[]> cumulative = new HashMap<>();
+            for (Map.Entry<Integer, ImmutableList<StatReward>> entry : statRewardMap.entrySet()) {
+                int level = entry.getKey();
+                if (level <= startLevel) continue;
+                for (StatReward reward : entry.getValue()) {
+                    cumulative.computeIfAbsent(reward.getStat(), k -> new double[0]);
+                }
+            }
+            for (Map.Entry<Stat, double[]> entry : cumulative.entrySet()) {
+                double[] values = new double[maxLevel + 1];
+                double sum = 0.0;
+                for (int level = startLevel + 1; level <= maxLevel; level++) {
+                    ImmutableList<StatReward> levelRewards = statRewardMap.get(level);
+                    if (levelRewards != null) {
+                        for (StatReward reward : levelRewards) {
+                            if (reward.getStat().equals(entry.getKey())) {
+                                sum += reward.getValue();
+                            }
+                        }
+                    }
+                    values[level] = sum;
+                }
+                entry.setValue(values);
+            }
+            return new StatTable(startLevel, Map.copyOf(cumulative));
+        }
+
+        double get(double[] values, int level) {
+            if (level <= startLevel) {
+                return 0.0;
+            }
+            return values[Math.min(level, values.length - 1)];
+        }
+
+    }
+
+    /**
+     * Adds the permissions of the permission rewards in this table to the given sets.
+     *
+     * @param level the skill level of the user
+     * @param granted the set to add permissions unlocked at the level to
+     * @param all the set to add every permission in the table to
+     */
+    public void collectPermissions(int level, Set<PermissionNode> granted, Set<PermissionNode> all) {
+        Map<Integer, ImmutableList<PermissionReward>> permissionRewardMap = permissionRewards;
+        if (permissionRewardMap == null) {
+            permissionRewardMap = searchRewards(PermissionReward.class);
+            permissionRewards = permissionRewardMap;
+        }
         for (Map.Entry<Integer, ImmutableList<PermissionReward>> entry : permissionRewardMap.entrySet()) {
-            int entryLevel = entry.getKey();
+            boolean unlocked = level >= entry.getKey();
             for (PermissionReward reward : entry.getValue()) {
-                if (plugin.getHookManager().isRegistered(PermissionsHook.class)) {
-                    PermissionsHook hook = plugin.getHookManager().getHook(PermissionsHook.class);
-                    if (level >= entryLevel) { // Add permission if unlocked
-                        hook.setPermission(player, reward.getPermission(), reward.getValue());
-                    } else { // Remove permission if not unlocked
-                        hook.unsetPermission(player, reward.getPermission(), reward.getValue());
-                    }
+                PermissionNode node = new PermissionNode(reward.getPermission(), reward.getValue());
+                all.add(node);
+                if (unlocked) {
+                    granted.add(node);
                 }
             }
         }
@@ -2,9 +2,13 @@ package dev.aurelium.auraskills.common.reward.type;
 
 import dev.aurelium.auraskills.api.skill.Skill;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
+import dev.aurelium.auraskills.common.hooks.PermissionNode;
 import dev.aurelium.auraskills.common.hooks.PermissionsHook;
 import dev.aurelium.auraskills.common.user.User;
 
+import java.util.HashSet;
+import java.util.Set;
+
 public class PermissionReward extends MessagedReward {
 
     private final String permission;
@@ -20,6 +24,13 @@ public class PermissionReward extends MessagedReward {
     public void giveReward(User user, Skill skill, int level) {
         if (hooks.isRegistered(PermissionsHook.class)) {
             hooks.getHook(PermissionsHook.class).setPermission(user, permission, value);
+            // Keep the synced state accurate so the permission is revoked if the skill is reset
+            Set<PermissionNode> synced = user.getSyncedPermissions();
+            if (synced != null) {
+                Set<PermissionNode> updated = new HashSet<>(synced);
+                updated.add(new PermissionNode(permission, value));
+                user.setSyncedPermissions(updated);
+            }
         }
     }
 
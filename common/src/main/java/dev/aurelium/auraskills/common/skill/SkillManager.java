@@ -26,6 +26,7 @@ public class SkillManager {
     private final AuraSkillsPlugin plugin;
     private final Map<Skill, LoadedSkill> skillMap;
     private final Map<SourceTag, List<XpSource>> sourceTagMap;
+    private final Map<SourceTag, Set<XpSource>> sourceTagSets; // For constant time hasTag checks
     private final SkillSupplier supplier;
     private final Set<File> contentDirectories;
     private final Map<SourceType, Boolean> sourceEnabledCache = new ConcurrentHashMap<>();
@@ -35,6 +36,7 @@ public class SkillManager {
         this.plugin = plugin;
         this.skillMap = new LinkedHashMap<>();
         this.sourceTagMap = new ConcurrentHashMap<>();
+        this.sourceTagSets = new ConcurrentHashMap<>();
         this.supplier = new SkillSupplier(this, plugin.getMessageProvider());
         this.contentDirectories = new LinkedHashSet<>();
     }
@@ -161,6 +163,7 @@ public class SkillManager {
 
     public void registerSourceTag(SourceTag tag, List<XpSource> sources) {
         sourceTagMap.put(tag, sources);
+        sourceTagSets.put(tag, new HashSet<>(sources));
     }
 
     @NotNull
@@ -169,7 +172,8 @@ public class SkillManager {
     }
 
     public boolean hasTag(XpSource source, SourceTag tag) {
-        return sourceTagMap.getOrDefault(tag, new ArrayList<>()).contains(source);
+        Set<XpSource> sources = sourceTagSets.get(tag);
+        return sources != null && sources.contains(source);
     }
 
     public Set<File> getContentDirectories() {
@@ -1,6 +1,5 @@
 package dev.aurelium.auraskills.common.source.income;
 
-import com.ezylang.evalex.Expression;
 import dev.aurelium.auraskills.api.source.SourceIncome;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
 import dev.aurelium.auraskills.common.config.Option;
@@ -24,8 +23,7 @@ public class IncomeLoader {
             return new FixedIncome(income);
         } else if (!source.node("income_expression").virtual()) {
             String incomeExpression = source.node("income_expression").getString();
-            Expression expression = new Expression(incomeExpression);
-            return new ExpressionIncome(plugin, expression);
+            return new ExpressionIncome(plugin, incomeExpression);
         }
         // Use the config.yml default income
         return getConfigDefaultIncome();
@@ -34,8 +32,7 @@ public class IncomeLoader {
     private SourceIncome getConfigDefaultIncome() {
         if (plugin.configBoolean(Option.JOBS_INCOME_USE_EXPRESSION)) {
             String expString = plugin.configString(Option.JOBS_INCOME_DEFAULT_EXPRESSION);
-            Expression expression = new Expression(expString);
-            return new ExpressionIncome(plugin, expression);
+            return new ExpressionIncome(plugin, expString);
         } else {
             double incomePerXp = plugin.configDouble(Option.JOBS_INCOME_DEFAULT_INCOME_PER_XP);
             return new XpIncome(plugin, incomePerXp);
@@ -2,13 +2,17 @@ package dev.aurelium.auraskills.common.stat;
 
 import dev.aurelium.auraskills.api.stat.ReloadableIdentifier;
 import dev.aurelium.auraskills.api.stat.Stat;
+import dev.aurelium.auraskills.api.util.AuraSkillsModifier;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
 import dev.aurelium.auraskills.common.config.Option;
+import dev.aurelium.auraskills.common.modifier.TemporaryModifier;
 import dev.aurelium.auraskills.common.scheduler.TaskRunnable;
 import dev.aurelium.auraskills.common.user.User;
+import dev.aurelium.auraskills.common.util.data.TimerWheel;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -19,6 +23,8 @@ public abstract class StatManager {
     protected final AuraSkillsPlugin plugin;
     private final Map<Stat, LoadedStat> statMap;
     private final StatSupplier supplier;
+    private final TimerWheel<TemporaryModifier> modifierExpirations = new TimerWheel<>(System.currentTimeMillis());
+    private final Set<TemporaryModifier> scheduledExpirations = ConcurrentHashMap.newKeySet(); // Entries in the wheel
 
     public StatManager(AuraSkillsPlugin plugin) {
         this.plugin = plugin;
@@ -91,13 +97,51 @@ public abstract class StatManager {
         var task = new TaskRunnable() {
             @Override
             public void run() {
-                for (User user : plugin.getUserManager().getOnlineUsers()) {
-                    user.getUserStats().removeExpiredModifiers();
-                }
+                removeExpiredModifiers(System.currentTimeMillis());
             }
         };
         plugin.getScheduler().timerSync(task, 0L, plugin.configInt(Option.MODIFIER_TEMPORARY_CHECK_PERIOD) * 50L,
                 TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Schedules a temporary modifier to be removed from the user once it expires. Modifiers that
+     * were removed or replaced before then are skipped when they expire. Scheduling a modifier that
+     * is already scheduled for the same player, such as when the player rejoins, does nothing.
+     *
+     * @param user the user the modifier was added to
+     * @param modifier the modifier
+     * @param expirationTime the time the modifier expires in epoch milliseconds
+     */
+    public void scheduleExpiration(User user, AuraSkillsModifier<?> modifier, long expirationTime) {
+        // Keyed by uuid so the wheel doesn't keep users in memory after they log out
+        TemporaryModifier entry = new TemporaryModifier(user.getUuid(), modifier);
+        if (scheduledExpirations.add(entry)) {
+            modifierExpirations.schedule(entry, expirationTime);
+        }
+    }
+
+    private void removeExpiredModifiers(long now) {
+        List<TemporaryModifier> expired = modifierExpirations.advance(now);
+        if (expired.isEmpty()) return;
+
+        // Reload each modifier type once per user no matter how many modifiers expired
+        Map<User, Set<ReloadableIdentifier>> reloads = new LinkedHashMap<>();
+        for (TemporaryModifier entry : expired) {
+            scheduledExpirations.remove(entry);
+            // Skip offline players, the modifier is scheduled again and expires right away when they load
+            User user = plugin.getUserManager().getUser(entry.uuid());
+            if (user == null) continue;
+
+            if (user.getUserStats().removeExpiredModifier(entry.modifier())) {
+                reloads.computeIfAbsent(user, u -> new LinkedHashSet<>()).add(entry.modifier().type());
+            }
+        }
+        for (Map.Entry<User, Set<ReloadableIdentifier>> entry : reloads.entrySet()) {
+            for (ReloadableIdentifier type : entry.getValue()) {
+                reload(entry.getKey(), type);
+            }
+        }
+    }
+
 }
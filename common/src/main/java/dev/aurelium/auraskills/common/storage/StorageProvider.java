@@ -90,23 +90,43 @@ public abstract class StorageProvider {
     public abstract void applyState(UserState state) throws Exception;
 
     public void saveSafely(@NotNull User user) {
-        ReentrantReadWriteLock lock = getUserLock(user.getUuid());
-        boolean lockAcquired = false;
+        ReentrantReadWriteLock lock = acquireSaveLock(user.getUuid());
+        if (lock == null) {
+            return;
+        }
         try {
-            lockAcquired = lock.writeLock().tryLock(SAVE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
-            if (!lockAcquired) {
-                plugin.logger().warn("Save timeout exceeded for user " + user.getUuid());
-                return;
-            }
             save(user);
         } catch (Exception e) {
             e.printStackTrace();
         } finally {
-            if (lockAcquired) {
-                lock.writeLock().unlock();
+            releaseSaveLock(user.getUuid(), lock);
+        }
+    }
+
+    /**
+     * Acquires the write lock of a user for saving, waiting at most the save timeout.
+     *
+     * @param uuid the uuid of the user
+     * @return the acquired lock, or null if the timeout was exceeded
+     */
+    @Nullable
+    protected ReentrantReadWriteLock acquireSaveLock(UUID uuid) {
+        ReentrantReadWriteLock lock = getUserLock(uuid);
+        try {
+            if (lock.writeLock().tryLock(SAVE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                return lock;
             }
-            removeUserLock(user.getUuid(), lock);
+            plugin.logger().warn("Save timeout exceeded for user " + uuid);
+        } catch (InterruptedException e) {
+            e.printStackTrace();
         }
+        removeUserLock(uuid, lock);
+        return null;
+    }
+
+    protected void releaseSaveLock(UUID uuid, ReentrantReadWriteLock lock) {
+        lock.writeLock().unlock();
+        removeUserLock(uuid, lock);
     }
 
     public abstract void save(@NotNull User user) throws Exception;
@@ -129,19 +149,29 @@ public abstract class StorageProvider {
         var task = new TaskRunnable() {
             @Override
             public void run() {
-                for (User user : userManager.getOnlineUsers()) {
-                    try {
-                        saveSafely(user);
-                    } catch (Exception e) {
-                        plugin.logger().warn("Error running auto-save on user data:");
-                        e.printStackTrace();
-                    }
-                }
+                autoSave(new ArrayList<>(userManager.getOnlineUsers()));
             }
         };
         plugin.getScheduler().timerAsync(task, interval * 50, interval * 50, TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Saves the given online users as part of an auto-save cycle. Saves users one by one by default,
+     * storage providers that can write multiple users at once should override this.
+     *
+     * @param users the users to save
+     */
+    protected void autoSave(List<User> users) {
+        for (User user : users) {
+            try {
+                saveSafely(user);
+            } catch (Exception e) {
+                plugin.logger().warn("Error running auto-save on user data:");
+                e.printStackTrace();
+            }
+        }
+    }
+
     private void fixInvalidData(User user) {
         // Ensure users are at least the start level
         int startLevel = plugin.config().getStartLevel();
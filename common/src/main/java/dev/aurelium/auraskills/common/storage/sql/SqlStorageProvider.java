@@ -23,6 +23,7 @@ import dev.aurelium.auraskills.common.ui.ActionBarType;
 import dev.aurelium.auraskills.common.user.AntiAfkLog;
 import dev.aurelium.auraskills.common.user.SkillLevelMaps;
 import dev.aurelium.auraskills.common.user.User;
+import dev.aurelium.auraskills.common.user.UserDirtyState;
 import dev.aurelium.auraskills.common.user.UserState;
 import dev.aurelium.auraskills.common.util.data.KeyIntPair;
 import org.intellij.lang.annotations.Language;
@@ -32,12 +33,18 @@ import org.jetbrains.annotations.Nullable;
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 public class SqlStorageProvider extends StorageProvider {
 
     private final ConnectionPool pool;
     private final SqlUserLoader userLoader;
+    // Cache of user_id by player uuid, filled when users are loaded or inserted
+    private final Map<UUID, Integer> userIds = new ConcurrentHashMap<>();
+    // Key value rows of each loaded user as of the last load or save, used to skip unchanged key values
+    private final Map<UUID, List<KeyValueRow>> savedKeyValues = new ConcurrentHashMap<>();
     public static final String TABLE_PREFIX = "auraskills_";
 
     public static final int STAT_MODIFIER_ID = 1; // Deprecated, only used in SqlUserMigrator
@@ -51,6 +58,27 @@ public class SqlStorageProvider extends StorageProvider {
     public static final int LOG_LEVEL_WARN = 2;
     public static final String JOBS_LAST_SELECT_TIME = "last_select_time";
 
+    private static final String KEY_VALUES_INSERT_QUERY = "INSERT INTO " + TABLE_PREFIX + "key_values (user_id, data_id, category_id, key_name, value) VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE value=?";
+    private static final String ANTI_AFK_LOGS_INSERT_QUERY = "INSERT IGNORE INTO " + TABLE_PREFIX + "logs (log_type, log_time, log_level, log_message, player_uuid, player_coords, world_name) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String MODIFIERS_INSERT_QUERY = """
+            INSERT INTO auraskills_modifiers (
+                user_id,
+                modifier_type,
+                type_id,
+                modifier_name,
+                modifier_value,
+                modifier_operation,
+                expiration_time,
+                remaining_duration,
+                metadata
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                modifier_value = VALUES(modifier_value),
+                expiration_time = VALUES(expiration_time),
+                remaining_duration = VALUES(remaining_duration),
+                metadata = VALUES(metadata)
+            """;
+
     public SqlStorageProvider(AuraSkillsPlugin plugin, ConnectionPool pool) {
         super(plugin);
         this.pool = pool;
@@ -78,7 +106,14 @@ public class SqlStorageProvider extends StorageProvider {
     protected User loadRaw(UUID uuid, @Nullable PlayerRef platformPlayer) throws Exception {
         try (Connection connection = pool.getConnection()) {
             User user = userManager.createNewUser(uuid, platformPlayer);
-            userLoader.loadUser(uuid, user, connection);
+            int userId = userLoader.loadUser(uuid, user, connection);
+            boolean exists = userId != SqlUserLoader.NOT_FOUND;
+            if (exists) {
+                userIds.put(uuid, userId);
+            }
+            // Nothing loaded counts as changed until the next save
+            user.getDirtyState().markLoaded(exists, user.getMana());
+            savedKeyValues.put(uuid, getKeyValueRows(user));
 
             return user;
         }
@@ -222,16 +257,18 @@ public class SqlStorageProvider extends StorageProvider {
     @Override
     public void applyState(UserState state) throws Exception {
         // Insert into users database
-        String usersQuery = "INSERT INTO " + TABLE_PREFIX + "users (player_uuid, mana) VALUES (?, ?) ON DUPLICATE KEY UPDATE mana = ?, last_updated = CURRENT_TIMESTAMP";
+        String usersQuery = "INSERT INTO " + TABLE_PREFIX + "users (player_uuid, mana) VALUES (?, ?) ON DUPLICATE KEY UPDATE " +
+                "user_id = LAST_INSERT_ID(user_id), mana = ?, last_updated = CURRENT_TIMESTAMP";
         try (Connection connection = pool.getConnection()) {
-            try (PreparedStatement statement = connection.prepareStatement(usersQuery)) {
+            int userId;
+            try (PreparedStatement statement = connection.prepareStatement(usersQuery, Statement.RETURN_GENERATED_KEYS)) {
                 statement.setString(1, state.uuid().toString());
                 statement.setDouble(2, state.mana());
                 statement.setDouble(3, state.mana());
                 statement.executeUpdate();
+                userId = getGeneratedUserId(statement, state.uuid());
             }
             // Insert into skill_levels database
-            int userId = getUserId(connection, state.uuid());
             String skillLevelsQuery = "INSERT INTO " + TABLE_PREFIX + "skill_levels (user_id, skill_name, skill_level, skill_xp) VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE skill_level=?, skill_xp=?";
             try (PreparedStatement statement = connection.prepareStatement(skillLevelsQuery)) {
                 statement.setInt(1, userId);
@@ -256,13 +293,19 @@ public class SqlStorageProvider extends StorageProvider {
     }
 
     public int getUserId(Connection connection, UUID uuid) throws SQLException {
+        Integer cached = userIds.get(uuid);
+        if (cached != null) {
+            return cached;
+        }
         // Get user_id from users database
         String query = "SELECT user_id FROM " + TABLE_PREFIX + "users WHERE player_uuid=?";
         try (PreparedStatement statement = connection.prepareStatement(query)) {
             statement.setString(1, uuid.toString());
             try (ResultSet resultSet = statement.executeQuery()) {
                 if (resultSet.next()) {
-                    return resultSet.getInt("user_id");
+                    int userId = resultSet.getInt("user_id");
+                    userIds.put(uuid, userId);
+                    return userId;
                 } else {
                     throw new RuntimeException("Failed to get user_id for player " + uuid);
                 }
@@ -270,186 +313,466 @@ public class SqlStorageProvider extends StorageProvider {
         }
     }
 
+    private int getGeneratedUserId(Statement statement, UUID uuid) throws SQLException {
+        // The users upsert sets LAST_INSERT_ID on update as well, so a key is returned for existing rows
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            if (keys.next()) {
+                int userId = keys.getInt(1);
+                userIds.put(uuid, userId);
+                return userId;
+            }
+        }
+        throw new SQLException("Failed to get user_id for player " + uuid);
+    }
+
     @Override
     public void save(@NotNull User user) throws Exception {
         if (user.shouldNotSave()) return;
+        if (deleteIfBlank(user)) return;
 
-        // Don't save blank profiles if the option is disabled
-        if (!plugin.configBoolean(Option.SAVE_BLANK_PROFILES) && user.isBlankProfile()) {
+        UserSaveSnapshot snapshot = createSnapshot(user);
+        if (snapshot.isEmpty()) {
+            return; // Nothing changed since the last save
+        }
+        try (Connection connection = pool.getConnection()) {
+            writeSnapshots(connection, List.of(snapshot));
+        } catch (Exception e) {
+            restoreSnapshot(snapshot);
+            throw e;
+        }
+        commitSnapshot(snapshot);
+    }
+
+    @Override
+    protected void autoSave(List<User> users) {
+        int batchSize = Math.max(1, plugin.configInt(Option.AUTO_SAVE_BATCH_SIZE));
+        long start = System.nanoTime();
+        int saved = 0;
+        int batches = 0;
+        for (int i = 0; i < users.size(); i += batchSize) {
+            saved += saveBatch(users.subList(i, Math.min(i + batchSize, users.size())));
+            batches++;
+        }
+        // Forget ids and key values of users that are no longer loaded
+        userIds.keySet().removeIf(uuid -> !userManager.hasUser(uuid));
+        savedKeyValues.keySet().removeIf(uuid -> !userManager.hasUser(uuid));
+        if (saved > 0) {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            plugin.logger().debug("Auto-saved " + saved + " of " + users.size() + " users in " + batches + " batch" +
+                    (batches != 1 ? "es" : "") + " (" + elapsedMs + " ms)");
+        }
+    }
+
+    /**
+     * Saves the changes of multiple users in a single transaction, batching the statements
+     * of each table across users.
+     *
+     * @param users the users to save
+     * @return the number of users written
+     */
+    private int saveBatch(List<User> users) {
+        Map<UUID, ReentrantReadWriteLock> locks = new HashMap<>();
+        List<UserSaveSnapshot> snapshots = new ArrayList<>();
+        try {
+            for (User user : users) {
+                if (user.shouldNotSave()) continue;
+                ReentrantReadWriteLock lock = acquireSaveLock(user.getUuid());
+                if (lock == null) continue;
+                locks.put(user.getUuid(), lock);
+                try {
+                    if (deleteIfBlank(user)) continue;
+                } catch (SQLException e) {
+                    continue; // Already logged
+                }
+                UserSaveSnapshot snapshot = createSnapshot(user);
+                if (!snapshot.isEmpty()) {
+                    snapshots.add(snapshot);
+                }
+            }
+            if (snapshots.isEmpty()) {
+                return 0;
+            }
             try (Connection connection = pool.getConnection()) {
-                deleteUser(connection, user);
-                connection.setAutoCommit(true);
-            } catch (SQLException e) {
-                plugin.logger().severe("Error deleting blank profile of user with UUID " + user.getUuid());
-                throw e;
+                writeSnapshots(connection, snapshots);
+            } catch (Exception e) {
+                snapshots.forEach(this::restoreSnapshot);
+                plugin.logger().warn("Error auto-saving a batch of " + snapshots.size() + " users, saving them individually", e);
+                return saveIndividually(snapshots);
+            }
+            snapshots.forEach(this::commitSnapshot);
+            return snapshots.size();
+        } finally {
+            locks.forEach(this::releaseSaveLock);
+        }
+    }
+
+    private int saveIndividually(List<UserSaveSnapshot> snapshots) {
+        int saved = 0;
+        for (UserSaveSnapshot snapshot : snapshots) {
+            try {
+                save(snapshot.user());
+                saved++;
+            } catch (Exception e) {
+                plugin.logger().warn("Error running auto-save on user data:", e);
             }
-            return;
         }
+        return saved;
+    }
 
+    /**
+     * Deletes the user from the database if it is a blank profile and blank profiles shouldn't be saved.
+     *
+     * @param user the user
+     * @return true if the user is a blank profile that shouldn't be saved
+     * @throws SQLException if deleting the user fails
+     */
+    private boolean deleteIfBlank(User user) throws SQLException {
+        // Don't save blank profiles if the option is disabled
+        if (plugin.configBoolean(Option.SAVE_BLANK_PROFILES) || !user.isBlankProfile()) {
+            return false;
+        }
+        UserDirtyState dirty = user.getDirtyState();
+        if (!dirty.isPersisted()) return true; // Nothing to delete
         try (Connection connection = pool.getConnection()) {
-            connection.setAutoCommit(false); // Start transaction
+            deleteUser(connection, user);
+            connection.setAutoCommit(true);
+            dirty.setPersisted(false);
+        } catch (SQLException e) {
+            plugin.logger().severe("Error deleting blank profile of user with UUID " + user.getUuid());
+            throw e;
+        }
+        return true;
+    }
 
-            saveUsersTable(connection, user);
-            saveSkillLevelsTable(connection, user);
-            int userId = getUserId(connection, user.getUuid());
-            saveKeyValuesTable(connection, user, userId);
-            saveModifiersTable(connection, user, userId);
-            saveLogsTable(connection, user);
+    private UserSaveSnapshot createSnapshot(User user) {
+        UserDirtyState dirty = user.getDirtyState();
+        boolean persisted = dirty.isPersisted();
+        // Poll what changed since the last save, restored if the save fails
+        Set<Skill> changedSkills = persisted ? dirty.pollSkills() : new HashSet<>(user.getSkillLevelMap().keySet());
+        boolean localeChanged = dirty.pollLocale();
+        boolean modifiersChanged = dirty.pollModifiers() || hasPausedModifiers(user) || !persisted;
+        List<KeyValueRow> keyValueRows = getKeyValueRows(user);
+        boolean keyValuesChanged = !persisted || !keyValueRows.equals(savedKeyValues.get(user.getUuid()));
+        double mana = user.getMana();
+        // Skill changes also update the users row so last_updated is refreshed for leaderboards
+        boolean usersChanged = !persisted || localeChanged || mana != dirty.getSavedMana() || !changedSkills.isEmpty();
+        return new UserSaveSnapshot(user, persisted, changedSkills, localeChanged, modifiersChanged, keyValueRows,
+                keyValuesChanged, mana, dirty.getSavedLogCount(), user.getSessionAntiAfkLogs().size(), usersChanged);
+    }
+
+    private void restoreSnapshot(UserSaveSnapshot snapshot) {
+        // Mark polled changes again so they are saved next time
+        UserDirtyState dirty = snapshot.user().getDirtyState();
+        if (snapshot.persisted()) {
+            dirty.markSkills(snapshot.changedSkills());
+        }
+        if (snapshot.localeChanged()) dirty.markLocale();
+        if (snapshot.modifiersChanged()) dirty.markModifiers();
+    }
+
+    private void commitSnapshot(UserSaveSnapshot snapshot) {
+        UserDirtyState dirty = snapshot.user().getDirtyState();
+        dirty.setPersisted(true);
+        dirty.setSavedMana(snapshot.mana());
+        savedKeyValues.put(snapshot.user().getUuid(), snapshot.keyValueRows());
+        dirty.setSavedLogCount(snapshot.logCount());
+    }
+
+    private void writeSnapshots(Connection connection, List<UserSaveSnapshot> snapshots) throws SQLException {
+        connection.setAutoCommit(false); // Start transaction
+        try {
+            saveUsersTable(connection, snapshots);
+            Map<UUID, Integer> batchIds = getUserIds(connection, snapshots);
+            saveSkillLevelsTable(connection, snapshots, batchIds);
+            saveKeyValuesTable(connection, snapshots, batchIds);
+            saveModifiersTable(connection, snapshots, batchIds);
+            saveLogsTable(connection, snapshots);
 
             connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            // Ids generated for new rows in this transaction no longer exist
+            for (UserSaveSnapshot snapshot : snapshots) {
+                if (!snapshot.persisted()) {
+                    userIds.remove(snapshot.user().getUuid());
+                }
+            }
+            throw e;
+        } finally {
             connection.setAutoCommit(true);
         }
     }
 
-    private void saveUsersTable(Connection connection, User user) throws SQLException {
-        String usersQuery = "INSERT INTO " + TABLE_PREFIX + "users (player_uuid, locale, mana) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE locale = ?, mana = ?, last_updated = CURRENT_TIMESTAMP";
+    private Map<UUID, Integer> getUserIds(Connection connection, List<UserSaveSnapshot> snapshots) throws SQLException {
+        Map<UUID, Integer> batchIds = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UserSaveSnapshot snapshot : snapshots) {
+            UUID uuid = snapshot.user().getUuid();
+            Integer cached = userIds.get(uuid);
+            if (cached != null) {
+                batchIds.put(uuid, cached);
+            } else {
+                missing.add(uuid);
+            }
+        }
+        if (missing.isEmpty()) {
+            return batchIds;
+        }
+        // Resolve all uncached ids of the batch in one query
+        String placeholders = String.join(", ", Collections.nCopies(missing.size(), "?"));
+        String query = "SELECT player_uuid, user_id FROM " + TABLE_PREFIX + "users WHERE player_uuid IN (" + placeholders + ")";
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            for (int i = 0; i < missing.size(); i++) {
+                statement.setString(i + 1, missing.get(i).toString());
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    UUID uuid = UUID.fromString(resultSet.getString("player_uuid"));
+                    int userId = resultSet.getInt("user_id");
+                    batchIds.put(uuid, userId);
+                    userIds.put(uuid, userId);
+                }
+            }
+        }
+        for (UUID uuid : missing) {
+            if (!batchIds.containsKey(uuid)) {
+                throw new SQLException("Failed to get user_id for player " + uuid);
+            }
+        }
+        return batchIds;
+    }
+
+    private boolean hasPausedModifiers(User user) {
+        // The remaining duration of modifiers paused offline changes over time
+        for (StatModifier modifier : user.getStatModifiers().values()) {
+            if (modifier.isTemporary() && modifier.isPauseOffline()) return true;
+        }
+        for (TraitModifier modifier : user.getTraitModifiers().values()) {
+            if (modifier.isTemporary() && modifier.isPauseOffline()) return true;
+        }
+        return false;
+    }
+
+    private void saveUsersTable(Connection connection, List<UserSaveSnapshot> snapshots) throws SQLException {
+        String usersQuery = "INSERT INTO " + TABLE_PREFIX + "users (player_uuid, locale, mana) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE " +
+                "user_id = LAST_INSERT_ID(user_id), locale = ?, mana = ?, last_updated = CURRENT_TIMESTAMP";
+        List<UserSaveSnapshot> uncached = new ArrayList<>();
         try (PreparedStatement statement = connection.prepareStatement(usersQuery)) {
-            statement.setString(1, user.getUuid().toString());
-            int curr = 2; // Current index to set
-            for (int i = 0; i < 2; i++) { // Repeat twice to set duplicate values
-                if (user.hasLocale()) {
-                    statement.setString(curr++, user.getLocale().toLanguageTag());
-                } else {
-                    statement.setNull(curr++, Types.VARCHAR);
+            boolean any = false;
+            for (UserSaveSnapshot snapshot : snapshots) {
+                if (!snapshot.usersChanged()) continue;
+                if (!userIds.containsKey(snapshot.user().getUuid())) {
+                    uncached.add(snapshot);
+                    continue;
                 }
-                statement.setDouble(curr++, user.getMana());
+                setUsersRow(statement, snapshot);
+                statement.addBatch();
+                any = true;
+            }
+            if (any) {
+                statement.executeBatch();
+            }
+        }
+        // Rows without a known id are written one by one to read back their generated user_id
+        if (uncached.isEmpty()) return;
+        try (PreparedStatement statement = connection.prepareStatement(usersQuery, Statement.RETURN_GENERATED_KEYS)) {
+            for (UserSaveSnapshot snapshot : uncached) {
+                setUsersRow(statement, snapshot);
+                statement.executeUpdate();
+                getGeneratedUserId(statement, snapshot.user().getUuid());
             }
-            statement.executeUpdate();
         }
     }
 
-    private void saveSkillLevelsTable(Connection connection, User user) throws SQLException {
-        int userId = getUserId(connection, user.getUuid());
+    private void setUsersRow(PreparedStatement statement, UserSaveSnapshot snapshot) throws SQLException {
+        User user = snapshot.user();
+        statement.setString(1, user.getUuid().toString());
+        int curr = 2; // Current index to set
+        for (int i = 0; i < 2; i++) { // Repeat twice to set duplicate values
+            if (user.hasLocale()) {
+                statement.setString(curr++, user.getLocale().toLanguageTag());
+            } else {
+                statement.setNull(curr++, Types.VARCHAR);
+            }
+            statement.setDouble(curr++, snapshot.mana());
+        }
+    }
+
+    private void saveSkillLevelsTable(Connection connection, List<UserSaveSnapshot> snapshots, Map<UUID, Integer> batchIds) throws SQLException {
         String skillLevelsQuery = "INSERT INTO " + TABLE_PREFIX + "skill_levels (user_id, skill_name, skill_level, skill_xp) VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE skill_level=?, skill_xp=?";
         try (PreparedStatement statement = connection.prepareStatement(skillLevelsQuery)) {
-            statement.setInt(1, userId);
-            for (Map.Entry<Skill, Integer> entry : user.getSkillLevelMap().entrySet()) {
-                String skillName = entry.getKey().getId().toString();
-                int level = entry.getValue();
-                double xp = user.getSkillXpMap().get(entry.getKey());
-                statement.setString(2, skillName);
-                statement.setInt(3, level);
-                statement.setDouble(4, xp);
-                statement.setInt(5, level);
-                statement.setDouble(6, xp);
-                statement.executeUpdate();
+            boolean any = false;
+            for (UserSaveSnapshot snapshot : snapshots) {
+                User user = snapshot.user();
+                int userId = batchIds.get(user.getUuid());
+                for (Skill skill : snapshot.changedSkills()) {
+                    int level = user.getSkillLevel(skill);
+                    double xp = user.getSkillXp(skill);
+                    statement.setInt(1, userId);
+                    statement.setString(2, skill.getId().toString());
+                    statement.setInt(3, level);
+                    statement.setDouble(4, xp);
+                    statement.setInt(5, level);
+                    statement.setDouble(6, xp);
+                    statement.addBatch();
+                    any = true;
+                }
+            }
+            if (any) {
+                statement.executeBatch();
             }
         }
     }
 
-    private void saveKeyValuesTable(Connection connection, User user, int userId) throws SQLException {
-        // Delete existing key values
-        deleteKeyValues(connection, userId);
-        // Save key values
+    private List<KeyValueRow> getKeyValueRows(User user) {
         List<KeyValueRow> rows = new ArrayList<>();
         rows.addAll(getAbilityDataRows(user.getAbilityDataMap(), user.getManaAbilityDataMap()));
         rows.addAll(getUnclaimedItemsRow(user.getUnclaimedItems()));
         rows.addAll(getActionBarRow(user));
         rows.addAll(getJobsRow(user, user.getJobs()));
-        // Insert all key values in a batch
-        saveKeyValueRows(connection, userId, rows);
+        return rows;
     }
 
-    private void saveModifiersTable(Connection connection, User user, int userId) throws SQLException {
-        deleteModifiers(connection, userId);
-
-        Map<String, AuraSkillsModifier<?>> modifiers = new ConcurrentHashMap<>();
-        modifiers.putAll(user.getStatModifiers());
-        modifiers.putAll(user.getTraitModifiers());
+    private void saveKeyValuesTable(Connection connection, List<UserSaveSnapshot> snapshots, Map<UUID, Integer> batchIds) throws SQLException {
+        List<UserSaveSnapshot> changed = snapshots.stream().filter(UserSaveSnapshot::keyValuesChanged).toList();
+        if (changed.isEmpty()) return;
+        // Delete existing key values
+        String deleteQuery = "DELETE FROM " + TABLE_PREFIX + "key_values WHERE user_id=?";
+        try (PreparedStatement statement = connection.prepareStatement(deleteQuery)) {
+            for (UserSaveSnapshot snapshot : changed) {
+                statement.setInt(1, batchIds.get(snapshot.user().getUuid()));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        // Insert all key values in a batch
+        try (PreparedStatement ps = connection.prepareStatement(KEY_VALUES_INSERT_QUERY)) {
+            boolean any = false;
+            for (UserSaveSnapshot snapshot : changed) {
+                int userId = batchIds.get(snapshot.user().getUuid());
+                for (KeyValueRow row : snapshot.keyValueRows()) {
+                    addKeyValueBatch(ps, userId, row);
+                    any = true;
+                }
+            }
+            if (any) {
+                ps.executeBatch();
+            }
+        }
+    }
 
-        List<ModifierRow> rows = getModifierRows(modifiers);
+    private void saveModifiersTable(Connection connection, List<UserSaveSnapshot> snapshots, Map<UUID, Integer> batchIds) throws SQLException {
+        List<UserSaveSnapshot> changed = snapshots.stream().filter(UserSaveSnapshot::modifiersChanged).toList();
+        if (changed.isEmpty()) return;
 
-        saveModifierRows(connection, userId, rows);
-    }
+        String deleteQuery = "DELETE FROM " + TABLE_PREFIX + "modifiers WHERE user_id=?";
+        try (PreparedStatement statement = connection.prepareStatement(deleteQuery)) {
+            for (UserSaveSnapshot snapshot : changed) {
+                statement.setInt(1, batchIds.get(snapshot.user().getUuid()));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
 
-    private void saveLogsTable(Connection connection, User user) throws SQLException {
-        saveAntiAfkLogs(user.getSessionAntiAfkLogs(), connection, user);
+        try (PreparedStatement ps = connection.prepareStatement(MODIFIERS_INSERT_QUERY)) {
+            boolean any = false;
+            for (UserSaveSnapshot snapshot : changed) {
+                User user = snapshot.user();
+                Map<String, AuraSkillsModifier<?>> modifiers = new HashMap<>();
+                modifiers.putAll(user.getStatModifiers());
+                modifiers.putAll(user.getTraitModifiers());
+
+                int userId = batchIds.get(user.getUuid());
+                for (ModifierRow row : getModifierRows(modifiers)) {
+                    addModifierBatch(ps, userId, row);
+                    any = true;
+                }
+            }
+            if (any) {
+                ps.executeBatch();
+            }
+        }
     }
 
-    private void saveKeyValueRows(Connection connection, int userId, List<KeyValueRow> rows) throws SQLException {
-        final String query = "INSERT INTO " + TABLE_PREFIX + "key_values (user_id, data_id, category_id, key_name, value) VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE value=?";
-        try (PreparedStatement ps = connection.prepareStatement(query)) {
-            for (KeyValueRow row : rows) {
-                ps.setInt(1, userId);
-                ps.setInt(2, row.dataId());
-                ps.setString(3, row.categoryId());
-                ps.setString(4, row.keyName());
-                ps.setString(5, row.value());
-                ps.setString(6, row.value());
-                ps.addBatch();
+    private void saveLogsTable(Connection connection, List<UserSaveSnapshot> snapshots) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(ANTI_AFK_LOGS_INSERT_QUERY)) {
+            boolean any = false;
+            for (UserSaveSnapshot snapshot : snapshots) {
+                if (!snapshot.logsChanged()) continue;
+                // Only logs added since the last save
+                User user = snapshot.user();
+                List<AntiAfkLog> logs = new ArrayList<>(user.getSessionAntiAfkLogs().subList(snapshot.savedLogCount(), snapshot.logCount()));
+                for (AntiAfkLog log : logs) {
+                    addAntiAfkLogBatch(ps, user, log);
+                    any = true;
+                }
+            }
+            if (any) {
+                ps.executeBatch();
             }
-            ps.executeBatch();
         }
     }
 
+    private void addKeyValueBatch(PreparedStatement ps, int userId, KeyValueRow row) throws SQLException {
+        ps.setInt(1, userId);
+        ps.setInt(2, row.dataId());
+        ps.setString(3, row.categoryId());
+        ps.setString(4, row.keyName());
+        ps.setString(5, row.value());
+        ps.setString(6, row.value());
+        ps.addBatch();
+    }
+
     private void saveModifierRows(Connection connection, int userId, List<ModifierRow> rows) throws SQLException {
-        String sql = """
-                INSERT INTO auraskills_modifiers (
-                    user_id,
-                    modifier_type,
-                    type_id,
-                    modifier_name,
-                    modifier_value,
-                    modifier_operation,
-                    expiration_time,
-                    remaining_duration,
-                    metadata
-                ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-                ON DUPLICATE KEY UPDATE
-                    modifier_value = VALUES(modifier_value),
-                    expiration_time = VALUES(expiration_time),
-                    remaining_duration = VALUES(remaining_duration),
-                    metadata = VALUES(metadata)
-                """;
-
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (PreparedStatement ps = connection.prepareStatement(MODIFIERS_INSERT_QUERY)) {
             for (ModifierRow row : rows) {
-                ps.setInt(1, userId);
-                ps.setString(2, row.modifierType());
-                if (row.typeId() != null) {
-                    ps.setString(3, row.typeId());
-                } else {
-                    ps.setNull(3, Types.VARCHAR);
-                }
-                ps.setString(4, row.modifierName());
-                ps.setDouble(5, row.modifierValue());
-                ps.setByte(6, row.modifierOperation());
-                ps.setLong(7, row.expirationTime());
-                ps.setLong(8, row.remainingDuration());
-                if (row.metadata() != null) {
-                    ps.setString(9, row.metadata());
-                } else {
-                    ps.setNull(9, Types.LONGVARCHAR);
-                }
-
-                ps.addBatch();
+                addModifierBatch(ps, userId, row);
             }
 
             ps.executeBatch();
         }
     }
 
+    private void addModifierBatch(PreparedStatement ps, int userId, ModifierRow row) throws SQLException {
+        ps.setInt(1, userId);
+        ps.setString(2, row.modifierType());
+        if (row.typeId() != null) {
+            ps.setString(3, row.typeId());
+        } else {
+            ps.setNull(3, Types.VARCHAR);
+        }
+        ps.setString(4, row.modifierName());
+        ps.setDouble(5, row.modifierValue());
+        ps.setByte(6, row.modifierOperation());
+        ps.setLong(7, row.expirationTime());
+        ps.setLong(8, row.remainingDuration());
+        if (row.metadata() != null) {
+            ps.setString(9, row.metadata());
+        } else {
+            ps.setNull(9, Types.LONGVARCHAR);
+        }
+
+        ps.addBatch();
+    }
+
     private void deleteUser(Connection connection, User user) throws SQLException {
         connection.setAutoCommit(false);
-        String getUserIdQuery = "SELECT user_id FROM " + TABLE_PREFIX + "users WHERE player_uuid=?";
-        try (PreparedStatement statement = connection.prepareStatement(getUserIdQuery)) {
-            statement.setString(1, user.getUuid().toString());
-            try (ResultSet rs = statement.executeQuery()) {
-                if (rs.next()) {
-                    int userId = rs.getInt("user_id");
-
-                    String deleteKeyValuesQuery = "DELETE FROM " + TABLE_PREFIX + "key_values WHERE user_id=?;";
-                    try (PreparedStatement delStatement = connection.prepareStatement(deleteKeyValuesQuery)) {
-                        delStatement.setInt(1, userId);
-                        delStatement.executeUpdate();
-                    }
+        try {
+            int userId = findUserId(connection, user.getUuid());
+            if (userId != SqlUserLoader.NOT_FOUND) {
+                String deleteKeyValuesQuery = "DELETE FROM " + TABLE_PREFIX + "key_values WHERE user_id=?;";
+                try (PreparedStatement delStatement = connection.prepareStatement(deleteKeyValuesQuery)) {
+                    delStatement.setInt(1, userId);
+                    delStatement.executeUpdate();
+                }
 
-                    deleteSkillLevelsUsers(connection, userId);
+                deleteSkillLevelsUsers(connection, userId);
 
-                    connection.commit();
-                } else {
-                    connection.rollback();
-                }
+                connection.commit();
+                userIds.remove(user.getUuid());
+                savedKeyValues.remove(user.getUuid());
+            } else {
+                connection.rollback();
             }
         } catch (SQLException e) {
             connection.rollback();
@@ -459,6 +782,20 @@ public class SqlStorageProvider extends StorageProvider {
         }
     }
 
+    private int findUserId(Connection connection, UUID uuid) throws SQLException {
+        Integer cached = userIds.get(uuid);
+        if (cached != null) {
+            return cached;
+        }
+        String getUserIdQuery = "SELECT user_id FROM " + TABLE_PREFIX + "users WHERE player_uuid=?";
+        try (PreparedStatement statement = connection.prepareStatement(getUserIdQuery)) {
+            statement.setString(1, uuid.toString());
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getInt("user_id") : SqlUserLoader.NOT_FOUND;
+            }
+        }
+    }
+
     private void deleteSkillLevelsUsers(Connection connection, int userId) throws SQLException {
         String deleteSkillLevelsQuery = "DELETE FROM " + TABLE_PREFIX + "skill_levels WHERE user_id=?;";
         try (PreparedStatement delStatement = connection.prepareStatement(deleteSkillLevelsQuery)) {
@@ -473,22 +810,6 @@ public class SqlStorageProvider extends StorageProvider {
         }
     }
 
-    private void deleteKeyValues(Connection connection, int userId) throws SQLException {
-        String query = "DELETE FROM " + TABLE_PREFIX + "key_values WHERE user_id=?";
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setInt(1, userId);
-            statement.executeUpdate();
-        }
-    }
-
-    private void deleteModifiers(Connection connection, int userId) throws SQLException {
-        String query = "DELETE FROM " + TABLE_PREFIX + "modifiers WHERE user_id=?";
-        try (PreparedStatement statement = connection.prepareStatement(query)) {
-            statement.setInt(1, userId);
-            statement.executeUpdate();
-        }
-    }
-
     private List<ModifierRow> getModifierRows(Map<String, AuraSkillsModifier<?>> modifiers) {
         List<ModifierRow> rows = new ArrayList<>();
         if (modifiers.isEmpty()) {
@@ -595,21 +916,15 @@ public class SqlStorageProvider extends StorageProvider {
         return rows;
     }
 
-    private void saveAntiAfkLogs(List<AntiAfkLog> logs, Connection connection, User user) throws SQLException {
-        final String query = "INSERT IGNORE INTO " + TABLE_PREFIX + "logs (log_type, log_time, log_level, log_message, player_uuid, player_coords, world_name) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement ps = connection.prepareStatement(query)) {
-            for (AntiAfkLog log : logs) {
-                ps.setString(1, LOG_TYPE_ANTI_AFK);
-                ps.setTimestamp(2, new Timestamp(log.timestamp()));
-                ps.setInt(3, LOG_LEVEL_WARN);
-                ps.setString(4, log.message());
-                ps.setString(5, user.getUuid().toString());
-                ps.setString(6, log.coords().toString());
-                ps.setString(7, log.world());
-                ps.addBatch();
-            }
-            ps.executeBatch();
-        }
+    private void addAntiAfkLogBatch(PreparedStatement ps, User user, AntiAfkLog log) throws SQLException {
+        ps.setString(1, LOG_TYPE_ANTI_AFK);
+        ps.setTimestamp(2, new Timestamp(log.timestamp()));
+        ps.setInt(3, LOG_LEVEL_WARN);
+        ps.setString(4, log.message());
+        ps.setString(5, user.getUuid().toString());
+        ps.setString(6, log.coords().toString());
+        ps.setString(7, log.world());
+        ps.addBatch();
     }
 
     @Override
@@ -618,6 +933,8 @@ public class SqlStorageProvider extends StorageProvider {
             int userId = getUserId(connection, uuid);
 
             deleteSkillLevelsUsers(connection, userId);
+            userIds.remove(uuid);
+            savedKeyValues.remove(uuid);
         }
     }
 
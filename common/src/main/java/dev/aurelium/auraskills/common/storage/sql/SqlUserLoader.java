@@ -32,6 +32,7 @@ import static dev.aurelium.auraskills.common.storage.sql.SqlStorageProvider.*;
 
 public class SqlUserLoader {
 
+    public static final int NOT_FOUND = -1;
     private final AuraSkillsPlugin plugin;
     private static final String LOAD_QUERY = """
             SELECT u.*,
@@ -77,19 +78,29 @@ public class SqlUserLoader {
         this.plugin = plugin;
     }
 
-    public void loadUser(UUID uuid, User user, Connection connection) {
+    /**
+     * Loads a user's data from the database into the given user.
+     *
+     * @param uuid the uuid of the player
+     * @param user the user to load data into
+     * @param connection the connection to use
+     * @return the user_id of the user, or {@link #NOT_FOUND} if the user doesn't exist in the database
+     */
+    public int loadUser(UUID uuid, User user, Connection connection) {
         try (PreparedStatement statement = connection.prepareStatement(LOAD_QUERY)) {
             statement.setString(1, uuid.toString());
 
             try (ResultSet rs = statement.executeQuery()) {
                 if (!rs.next()) { // If the player doesn't exist in the database
-                    return;
+                    return NOT_FOUND;
                 }
                 // Parses and sets query results to user
                 processResultSet(rs, user);
+                return rs.getInt("user_id");
             }
         } catch (SQLException e) {
             e.printStackTrace();
+            return NOT_FOUND;
         }
     }
 
@@ -0,0 +1,34 @@
+package dev.aurelium.auraskills.common.storage.sql;
+
+import dev.aurelium.auraskills.api.skill.Skill;
+import dev.aurelium.auraskills.common.user.User;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The changes of a user polled from its dirty state that a single save writes.
+ */
+record UserSaveSnapshot(
+        User user,
+        boolean persisted,
+        Set<Skill> changedSkills,
+        boolean localeChanged,
+        boolean modifiersChanged,
+        List<KeyValueRow> keyValueRows,
+        boolean keyValuesChanged,
+        double mana,
+        int savedLogCount,
+        int logCount,
+        boolean usersChanged
+) {
+
+    boolean logsChanged() {
+        return logCount > savedLogCount;
+    }
+
+    boolean isEmpty() {
+        return !usersChanged && changedSkills.isEmpty() && !modifiersChanged && !keyValuesChanged && !logsChanged();
+    }
+
+}
@@ -1,17 +1,17 @@
 package dev.aurelium.auraskills.common.ui;
 
-import com.google.common.collect.Sets;
 import dev.aurelium.auraskills.api.skill.Skill;
 import dev.aurelium.auraskills.api.util.NumberUtil;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
 import dev.aurelium.auraskills.common.config.Option;
 import dev.aurelium.auraskills.common.hooks.PlaceholderHook;
+import dev.aurelium.auraskills.common.message.MessageTemplate;
 import dev.aurelium.auraskills.common.message.type.ActionBarMessage;
 import dev.aurelium.auraskills.common.scheduler.TaskRunnable;
 import dev.aurelium.auraskills.common.ui.UiProvider.FormatType;
 import dev.aurelium.auraskills.common.user.User;
-import dev.aurelium.auraskills.common.util.text.TextUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -20,44 +20,56 @@ import java.util.concurrent.TimeUnit;
 public abstract class ActionBarManager {
 
     public static final int PAUSE_MS = 750;
+    private static final int XP_STAY_TICKS = 41; // Ticks the xp action bar stays after the last xp gain
+    private static final String[] IDLE_PLACEHOLDERS = {"hp", "max_hp", "mana", "max_mana"};
+    private static final String[] ABILITY_PLACEHOLDERS = {"hp", "max_hp", "mana", "max_mana", "message"};
+    private static final String[] XP_PLACEHOLDERS = {"hp", "max_hp", "xp_gained", "skill", "current_xp", "level_xp",
+            "skill_level", "mana", "max_mana", "income"};
     protected final AuraSkillsPlugin plugin;
     private final UiProvider uiProvider;
 
-    private final Set<UUID> isPaused = Sets.newConcurrentHashSet();
-    private final Set<UUID> isGainingXp = Sets.newConcurrentHashSet();
-    private final Map<UUID, Integer> timer = new ConcurrentHashMap<>();
-    private final Map<UUID, Integer> currentAction = new ConcurrentHashMap<>();
-    private final Map<Locale, String> idleMessageCache = new ConcurrentHashMap<>();
+    private final Map<UUID, ActionBarState> states = new ConcurrentHashMap<>();
+    private volatile long tick;
 
     public ActionBarManager(AuraSkillsPlugin plugin, UiProvider uiProvider) {
         this.plugin = plugin;
         this.uiProvider = uiProvider;
-        startTimerCountdown();
         startUpdatingIdleActionBar();
     }
 
-    public void startTimerCountdown() {
-        var task = new TaskRunnable() {
-            @Override
-            public void run() {
-                if (!plugin.configBoolean(Option.ACTION_BAR_ENABLED)) {
-                    return;
+    /**
+     * Sends the xp action bars of users that gained xp. Called every tick by the shared UI task of the
+     * {@link UiProvider}, so xp gains only update the user's state and multiple gains in the same tick
+     * result in a single action bar.
+     */
+    public void tick() {
+        long now = ++tick;
+        if (states.isEmpty()) return;
+
+        int updatePeriod = plugin.configInt(Option.ACTION_BAR_UPDATE_PERIOD);
+        for (Map.Entry<UUID, ActionBarState> entry : states.entrySet()) {
+            ActionBarState state = entry.getValue();
+            XpGain gain;
+            synchronized (state) {
+                if (now >= state.xpUntil && now >= state.pausedUntil) {
+                    states.remove(entry.getKey(), state);
+                    continue;
                 }
-
-                for (User user : plugin.getUserManager().getOnlineUsers()) {
-                    UUID uuid = user.getUuid();
-                    Integer time = timer.get(uuid);
-                    if (time != null) {
-                        if (time > 0) {
-                            timer.put(uuid, time - 1);
-                        }
-                    } else {
-                        timer.put(uuid, 0);
-                    }
+                gain = state.xpGain;
+                if (gain == null || now >= state.xpUntil || now < state.pausedUntil) {
+                    continue;
                 }
+                // Send new gains right away and refresh the current one every update period
+                if (!state.pending && now - state.lastSent < updatePeriod) {
+                    continue;
+                }
+                state.pending = false;
+                state.lastSent = now;
             }
-        };
-        plugin.getScheduler().timerSync(task, 0, 2 * 50L, TimeUnit.MILLISECONDS);
+            String message = getXpActionBarMessage(gain.user(), gain.skill(), gain.currentXp(), gain.levelXp(),
+                    gain.xpGained(), gain.level(), gain.maxed(), gain.income());
+            uiProvider.sendActionBar(gain.user(), message);
+        }
     }
 
     public void startUpdatingIdleActionBar() {
@@ -78,34 +90,17 @@ public abstract class ActionBarManager {
                         continue;
                     }
 
-                    if (!currentAction.containsKey(uuid)) {
-                        currentAction.put(uuid, 0);
-                    }
-                    if (isGainingXp.contains(uuid) || isPaused.contains(uuid)) {
+                    if (isShowingOther(uuid)) {
                         continue;
                     }
 
                     boolean formatLast = plugin.configBoolean(Option.ACTION_BAR_FORMAT_LAST);
                     Locale locale = user.getLocale();
 
-                    String base;
-                    if (formatLast) {
-                        base = plugin.getMessageProvider().getRaw(ActionBarMessage.IDLE, locale);
-                    } else {
-                        String cache = idleMessageCache.get(locale);
-                        if (cache != null) { // Cache hit
-                            base = cache;
-                        } else { // Cache miss
-                            base = plugin.getMsg(ActionBarMessage.IDLE, locale);
-                            idleMessageCache.put(locale, base);
-                        }
-                    }
+                    MessageTemplate template = plugin.getMessageProvider().getTemplate(ActionBarMessage.IDLE, locale,
+                            !formatLast, IDLE_PLACEHOLDERS);
 
-                    String message = TextUtil.replace(base,
-                            "{hp}", getHp(user),
-                            "{max_hp}", getMaxHp(user),
-                            "{mana}", getMana(user),
-                            "{max_mana}", getMaxMana(user));
+                    String message = template.render(getHp(user), getMaxHp(user), getMana(user), getMaxMana(user));
                     message = replacePlaceholderApi(user, message);
 
                     if (formatLast) {
@@ -135,86 +130,53 @@ public abstract class ActionBarManager {
             return;
         }
 
-        UUID uuid = user.getUuid();
-        if (isPaused.contains(uuid)) {
-            return;
-        }
-        // Set timer and is gaining xp
-        isGainingXp.add(uuid);
-        timer.put(uuid, 20);
-
-        // Increment action number
-        int thisAction = currentAction.getOrDefault(uuid, 0) + 1;
-        currentAction.put(uuid, thisAction);
-        // Schedule timer task to update action bar
-        plugin.getScheduler().timerSync(
-                new TaskRunnable() {
-                    @Override
-                    public void run() {
-                        if (!isGainingXp.contains(uuid)) {
-                            cancel();
-                            return;
-                        }
-                        // Cancel if a later action bar is sent
-                        Integer actionNum = currentAction.get(uuid);
-                        if (actionNum == null) {
-                            cancel();
-                            return;
-                        }
-                        if (thisAction != actionNum) {
-                            cancel();
-                            return;
-                        }
-
-                        String message = getXpActionBarMessage(user, skill, currentXp, levelXp, xpGained, level, maxed, income);
-                        uiProvider.sendActionBar(user, message);
-                    }
-                }, 0, plugin.configInt(Option.ACTION_BAR_UPDATE_PERIOD) * 50L, TimeUnit.MILLISECONDS);
-        // Schedule task to stop updating action bar
-        plugin.getScheduler().scheduleSync(() -> {
-            Integer timerNum = timer.get(uuid);
-            if (timerNum != null) {
-                if (timerNum.equals(0)) {
-                    isGainingXp.remove(uuid);
-                }
+        ActionBarState state = states.computeIfAbsent(user.getUuid(), id -> new ActionBarState());
+        synchronized (state) {
+            if (tick < state.pausedUntil) {
+                return;
             }
-        }, 41 * 50L, TimeUnit.MILLISECONDS);
+            // Combine with a gain in the same skill that wasn't sent yet
+            XpGain previous = state.xpGain;
+            if (state.pending && previous != null && previous.skill().equals(skill)) {
+                xpGained += previous.xpGained();
+            }
+            state.xpGain = new XpGain(user, skill, currentXp, levelXp, xpGained, level, maxed, income);
+            state.pending = true;
+            state.xpUntil = tick + XP_STAY_TICKS;
+        }
+        // Recreate the state if it was removed by the tick while being updated
+        states.putIfAbsent(user.getUuid(), state);
     }
 
     public void resetActionBars() {
-        isGainingXp.clear();
-        timer.clear();
-        currentAction.clear();
-        isPaused.clear();
-        clearMessageCache();
+        states.clear();
     }
 
     public void resetActionBar(User user) {
-        UUID uuid = user.getUuid();
-        isGainingXp.remove(uuid);
-        timer.remove(uuid);
-        currentAction.remove(uuid);
-        isPaused.remove(uuid);
+        states.remove(user.getUuid());
     }
 
     public void setPaused(User user, int time, TimeUnit timeUnit) {
-        UUID uuid = user.getUuid();
-        isPaused.add(uuid);
-        Integer action = currentAction.get(uuid);
-        if (action != null) {
-            currentAction.put(uuid, action + 1);
-        } else {
-            currentAction.put(uuid, 0);
+        long ticks = Math.max(1, (timeUnit.toMillis(time) + 49) / 50);
+        ActionBarState state = states.computeIfAbsent(user.getUuid(), id -> new ActionBarState());
+        synchronized (state) {
+            state.pausedUntil = tick + ticks;
+            state.xpGain = null; // Stop updating the current xp action bar
+            state.pending = false;
+        }
+        states.putIfAbsent(user.getUuid(), state);
+    }
+
+    // Whether an xp action bar or a paused message is shown instead of the idle action bar
+    private boolean isShowingOther(UUID uuid) {
+        ActionBarState state = states.get(uuid);
+        if (state == null) {
+            return false;
+        }
+        long now = tick;
+        synchronized (state) {
+            return now < state.xpUntil || now < state.pausedUntil;
         }
-        int thisAction = this.currentAction.get(uuid);
-        plugin.getScheduler().scheduleSync(() -> {
-            Integer actionBarCurrentAction = currentAction.get(uuid);
-            if (actionBarCurrentAction != null) {
-                if (thisAction == actionBarCurrentAction) {
-                    isPaused.remove(uuid);
-                }
-            }
-        }, time, timeUnit);
     }
 
     public void sendAbilityActionBar(User user, String message) {
@@ -222,19 +184,10 @@ public abstract class ActionBarManager {
 
         boolean formatLast = plugin.configBoolean(Option.ACTION_BAR_FORMAT_LAST);
 
-        String base;
-        if (formatLast) {
-            base = plugin.getMessageProvider().getRaw(ActionBarMessage.ABILITY, user.getLocale());
-        } else {
-            base = plugin.getMsg(ActionBarMessage.ABILITY, user.getLocale());
-        }
+        MessageTemplate template = plugin.getMessageProvider().getTemplate(ActionBarMessage.ABILITY, user.getLocale(),
+                !formatLast, ABILITY_PLACEHOLDERS);
 
-        String actionBarText = TextUtil.replace(base,
-                "{hp}", getHp(user),
-                "{max_hp}", getMaxHp(user),
-                "{mana}", getMana(user),
-                "{max_mana}", getMaxMana(user),
-                "{message}", message);
+        String actionBarText = template.render(getHp(user), getMaxHp(user), getMana(user), getMaxMana(user), message);
         actionBarText = replacePlaceholderApi(user, actionBarText);
 
         if (formatLast) {
@@ -251,25 +204,20 @@ public abstract class ActionBarManager {
 
         boolean formatLast = plugin.configBoolean(Option.ACTION_BAR_FORMAT_LAST);
 
-        String base;
-        if (formatLast) {
-            base = plugin.getMessageProvider().getRaw(messageKey, locale);
-        } else {
-            base = plugin.getMsg(messageKey, locale);
-        }
-
-        // Replace built in placeholders
-        String message = TextUtil.replace(base,
-                "{hp}", getHp(user),
-                "{max_hp}", getMaxHp(user),
-                "{xp_gained}", xpGained > 0 ? "+" + NumberUtil.format1(xpGained) : NumberUtil.format1(xpGained),
-                "{skill}", skill.getDisplayName(locale),
-                "{current_xp}", plugin.getUiProvider().getFormat(FormatType.XP).format(currentXp),
-                "{level_xp}", NumberUtil.format1(levelXp),
-                "{skill_level}", String.valueOf(level),
-                "{mana}", getMana(user),
-                "{max_mana}", getMaxMana(user),
-                "{income}", plugin.getUiProvider().getFormat(FormatType.MONEY).format(income));
+        MessageTemplate template = plugin.getMessageProvider().getTemplate(messageKey, locale, !formatLast, XP_PLACEHOLDERS);
+
+        // Replace built in placeholders, in the order of XP_PLACEHOLDERS
+        String message = template.render(
+                getHp(user),
+                getMaxHp(user),
+                xpGained > 0 ? "+" + NumberUtil.format1(xpGained) : NumberUtil.format1(xpGained),
+                skill.getDisplayName(locale),
+                plugin.getUiProvider().getFormat(FormatType.XP).format(currentXp),
+                NumberUtil.format1(levelXp),
+                String.valueOf(level),
+                getMana(user),
+                getMaxMana(user),
+                plugin.getUiProvider().getFormat(FormatType.MONEY).format(income));
         // Replace PlaceholderAPI placeholders
         message = replacePlaceholderApi(user, message);
 
@@ -304,8 +252,19 @@ public abstract class ActionBarManager {
         return message;
     }
 
-    public void clearMessageCache() {
-        idleMessageCache.clear();
+    private static class ActionBarState {
+
+        @Nullable
+        private XpGain xpGain; // The latest xp gain, null once the xp action bar stops updating
+        private boolean pending;
+        private long lastSent;
+        private long xpUntil;
+        private long pausedUntil;
+
+    }
+
+    private record XpGain(User user, Skill skill, double currentXp, double levelXp, double xpGained, int level, boolean maxed, double income) {
+
     }
 
 }
@@ -19,6 +19,7 @@ import dev.aurelium.auraskills.common.antiafk.CheckData;
 import dev.aurelium.auraskills.common.antiafk.CheckType;
 import dev.aurelium.auraskills.common.api.implementation.ApiSkillsUser;
 import dev.aurelium.auraskills.common.config.Option;
+import dev.aurelium.auraskills.common.hooks.PermissionNode;
 import dev.aurelium.auraskills.common.jobs.JobsBatchData;
 import dev.aurelium.auraskills.common.mana.ManaAbilityData;
 import dev.aurelium.auraskills.common.ui.ActionBarType;
@@ -63,6 +64,9 @@ public abstract class User {
 
     private boolean shouldSave;
     private boolean blank = true;
+    private final UserDirtyState dirtyState;
+    @Nullable
+    private volatile Set<PermissionNode> syncedPermissions; // Reward permissions last set through the permissions hook
 
     // Not persistent data
     private final Map<String, Multiplier> multipliers;
@@ -71,6 +75,8 @@ public abstract class User {
     @Nullable
     private List<AntiAfkLog> storedAntiAfkLogs;
     private double currentOriginalDamage;
+    private int jumps;
+    private boolean onGround;
 
     public User(UUID uuid, AuraSkillsPlugin plugin) {
         this.plugin = plugin;
@@ -90,6 +96,7 @@ public abstract class User {
         this.jobsBatchData = new JobsBatchData();
         this.sessionAntiAfkLogs = new ArrayList<>();
         this.lastJobSelectTime = 0;
+        this.dirtyState = new UserDirtyState();
     }
 
     public AuraSkillsPlugin getPlugin() {
@@ -152,7 +159,10 @@ public abstract class User {
     }
 
     public void setSkillLevel(Skill skill, int level) {
-        skillLevels.put(skill, level);
+        Integer previous = skillLevels.put(skill, level);
+        if (previous == null || previous != level) {
+            dirtyState.markSkill(skill);
+        }
         if (level > plugin.config().getStartLevel()) { // Mark as modified
             blank = false;
         }
@@ -167,7 +177,10 @@ public abstract class User {
     }
 
     public void setSkillXp(Skill skill, double xp) {
-        skillXp.put(skill, xp);
+        Double previous = skillXp.put(skill, xp);
+        if (previous == null || previous != xp) {
+            dirtyState.markSkill(skill);
+        }
         if (xp > 0.0) { // Mark as modified
             blank = false;
         }
@@ -178,6 +191,7 @@ public abstract class User {
 
         // Add XP while ensuring it is not negative
         skillXp.merge(skill, amount, (existing, added) -> Math.max(existing + added, 0.0));
+        dirtyState.markSkill(skill);
         if (amount > 0.0) { // Mark as modified
             blank = false;
         }
@@ -288,6 +302,7 @@ public abstract class User {
 
     public void setLocale(Locale locale) {
         this.locale = locale;
+        dirtyState.markLocale();
         setCommandLocale(locale);
     }
 
@@ -420,6 +435,29 @@ public abstract class User {
 
     public abstract boolean canSelectJob(@NotNull Skill skill);
 
+    /**
+     * Gets the tracker of which data changed since the user was last loaded or saved.
+     *
+     * @return the dirty state
+     */
+    public UserDirtyState getDirtyState() {
+        return dirtyState;
+    }
+
+    /**
+     * Gets the reward permissions that were last granted to the user through the permissions hook.
+     *
+     * @return the granted permissions, or null if permissions haven't been synced since the user loaded
+     */
+    @Nullable
+    public Set<PermissionNode> getSyncedPermissions() {
+        return syncedPermissions;
+    }
+
+    public void setSyncedPermissions(@Nullable Set<PermissionNode> syncedPermissions) {
+        this.syncedPermissions = syncedPermissions;
+    }
+
     public boolean shouldNotSave() {
         return !shouldSave;
     }
@@ -497,6 +535,33 @@ public abstract class User {
         this.currentOriginalDamage = currentOriginalDamage;
     }
 
+    /**
+     * Adds a jump to the number of jumps counted towards the next jumping XP gain.
+     *
+     * @return the number of jumps counted including this one
+     */
+    public int incrementJumps() {
+        return ++jumps;
+    }
+
+    public void resetJumps() {
+        this.jumps = 0;
+    }
+
+    /**
+     * Gets whether the player was on the ground at their last move, used to detect jumps
+     * on platforms without a native jump event.
+     *
+     * @return whether the player was on the ground
+     */
+    public boolean wasOnGround() {
+        return onGround;
+    }
+
+    public void setOnGround(boolean onGround) {
+        this.onGround = onGround;
+    }
+
     /**
      * Checks if the profile has not had any changes since creation
      *
@@ -545,6 +610,7 @@ public abstract class User {
 
         this.mana = state.mana();
 
+        dirtyState.markAll(skillLevels.keySet());
         plugin.getStatManager().recalculateStats(this);
     }
 
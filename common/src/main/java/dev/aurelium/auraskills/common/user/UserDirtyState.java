@@ -0,0 +1,120 @@
+package dev.aurelium.auraskills.common.user;
+
+import dev.aurelium.auraskills.api.skill.Skill;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which parts of a user's data changed since it was last loaded or saved, so storage
+ * providers can skip unchanged users and only write the tables and rows that changed.
+ */
+public class UserDirtyState {
+
+    private final Set<Skill> skills = ConcurrentHashMap.newKeySet();
+    private volatile boolean modifiers;
+    private volatile boolean locale;
+    private volatile boolean persisted;
+    private volatile double savedMana = Double.NaN;
+    private volatile int savedLogCount;
+
+    public void markSkill(Skill skill) {
+        skills.add(skill);
+    }
+
+    /**
+     * Removes and returns the skills that changed since the last call.
+     *
+     * @return the changed skills
+     */
+    public Set<Skill> pollSkills() {
+        Set<Skill> polled = new HashSet<>();
+        for (Skill skill : skills) {
+            if (skills.remove(skill)) {
+                polled.add(skill);
+            }
+        }
+        return polled;
+    }
+
+    public void markSkills(Set<Skill> changed) {
+        skills.addAll(changed);
+    }
+
+    public void markModifiers() {
+        this.modifiers = true;
+    }
+
+    public boolean pollModifiers() {
+        boolean changed = modifiers;
+        modifiers = false;
+        return changed;
+    }
+
+    public void markLocale() {
+        this.locale = true;
+    }
+
+    public boolean pollLocale() {
+        boolean changed = locale;
+        locale = false;
+        return changed;
+    }
+
+    /**
+     * Gets whether the user exists in storage, either because it was loaded or saved before.
+     *
+     * @return whether the user is persisted
+     */
+    public boolean isPersisted() {
+        return persisted;
+    }
+
+    public void setPersisted(boolean persisted) {
+        this.persisted = persisted;
+    }
+
+    public double getSavedMana() {
+        return savedMana;
+    }
+
+    public void setSavedMana(double savedMana) {
+        this.savedMana = savedMana;
+    }
+
+    public int getSavedLogCount() {
+        return savedLogCount;
+    }
+
+    public void setSavedLogCount(int savedLogCount) {
+        this.savedLogCount = savedLogCount;
+    }
+
+    /**
+     * Marks the skills and modifiers of the user as changed, used when the whole state is replaced.
+     *
+     * @param allSkills every skill of the user
+     */
+    public void markAll(Set<Skill> allSkills) {
+        skills.addAll(allSkills);
+        modifiers = true;
+        locale = true;
+    }
+
+    /**
+     * Resets the state after the user was loaded so that nothing is considered changed.
+     *
+     * @param persisted whether the user was found in storage
+     * @param mana the loaded mana
+     */
+    public void markLoaded(boolean persisted, double mana) {
+        skills.clear();
+        modifiers = false;
+        locale = false;
+        this.persisted = persisted;
+        this.savedMana = mana;
+        this.savedLogCount = 0;
+    }
+
+}
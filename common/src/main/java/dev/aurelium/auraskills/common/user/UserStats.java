@@ -9,12 +9,11 @@ import dev.aurelium.auraskills.api.trait.TraitModifier;
 import dev.aurelium.auraskills.api.util.AuraSkillsModifier;
 import dev.aurelium.auraskills.api.util.AuraSkillsModifier.Operation;
 import dev.aurelium.auraskills.common.AuraSkillsPlugin;
-import dev.aurelium.auraskills.common.modifier.TemporaryModifier;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class UserStats {
 
@@ -25,25 +24,31 @@ public class UserStats {
     private final Map<Stat, Double> baseStatLevels = new ConcurrentHashMap<>();
     private final Map<String, StatModifier> statModifiers = new ConcurrentHashMap<>();
     private final Map<String, TraitModifier> traitModifiers = new ConcurrentHashMap<>();
-    private final PriorityQueue<TemporaryModifier> tempModExpiryQueue = new PriorityQueue<>();
+    private final Map<Trait, CachedLevel> bonusTraitLevels = new ConcurrentHashMap<>();
+    // Incremented whenever something bonus trait levels depend on changes, which invalidates cached levels
+    private final AtomicInteger version = new AtomicInteger();
 
     public UserStats(AuraSkillsPlugin plugin, User user) {
         this.plugin = plugin;
         this.user = user;
     }
 
-    public void removeExpiredModifiers() {
-        long now = System.currentTimeMillis();
-        while (!tempModExpiryQueue.isEmpty() && tempModExpiryQueue.peek().expirationTime() <= now) {
-            TemporaryModifier expired = tempModExpiryQueue.poll();
-
-            var modifier = expired.modifier();
-            if (modifier instanceof StatModifier) {
-                removeStatModifier(modifier.name(), true);
-            } else if (modifier instanceof TraitModifier) {
-                removeTraitModifier(modifier.name(), true);
-            }
+    /**
+     * Removes a temporary modifier whose expiration time has passed without reloading. Does nothing if the
+     * modifier was removed or replaced by a different modifier with the same name since it was added.
+     *
+     * @param modifier the expired modifier
+     * @return whether the modifier was removed
+     */
+    public boolean removeExpiredModifier(AuraSkillsModifier<?> modifier) {
+        if (modifier instanceof StatModifier) {
+            if (!modifier.equals(statModifiers.get(modifier.name()))) return false;
+            return removeStatModifier(modifier.name(), false);
+        } else if (modifier instanceof TraitModifier) {
+            if (!modifier.equals(traitModifiers.get(modifier.name()))) return false;
+            return removeTraitModifier(modifier.name(), false);
         }
+        return false;
     }
 
     public double getStatLevel(Stat stat) {
@@ -72,7 +77,7 @@ public class UserStats {
             throw new IllegalArgumentException("Stat modifier is not a temporary stat modifier");
         }
         addModifier(modifier, reload, statModifiers);
-        tempModExpiryQueue.add(new TemporaryModifier(modifier, expirationTime));
+        plugin.getStatManager().scheduleExpiration(user, modifier, expirationTime);
     }
 
     public boolean removeStatModifier(String name, boolean reload) {
@@ -84,7 +89,33 @@ public class UserStats {
         return base + getBonusTraitLevel(trait);
     }
 
+    /**
+     * Gets the trait level from stats and modifiers. The level is cached until a modifier is
+     * added or removed, a stat is recalculated, or the cache is invalidated.
+     *
+     * @param trait the trait
+     * @return the bonus trait level
+     */
     public double getBonusTraitLevel(Trait trait) {
+        int current = version.get();
+        CachedLevel cached = bonusTraitLevels.get(trait);
+        if (cached != null && cached.version() == current) {
+            return cached.level();
+        }
+        double level = calculateBonusTraitLevel(trait);
+        bonusTraitLevels.put(trait, new CachedLevel(current, level));
+        return level;
+    }
+
+    /**
+     * Invalidates cached trait levels, used when something outside modifiers and stats that
+     * trait levels depend on changes, such as the user's world.
+     */
+    public void invalidateCache() {
+        version.incrementAndGet();
+    }
+
+    private double calculateBonusTraitLevel(Trait trait) {
         if (!trait.isEnabled() || plugin.getWorldManager().isDisabledWorld(user.getWorld())) {
             return 0.0;
         }
@@ -124,7 +155,7 @@ public class UserStats {
             throw new IllegalArgumentException("Trait modifier is not a temporary trait modifier");
         }
         addModifier(modifier, reload, traitModifiers);
-        tempModExpiryQueue.add(new TemporaryModifier(modifier, expirationTime));
+        plugin.getStatManager().scheduleExpiration(user, modifier, expirationTime);
     }
 
     public boolean removeTraitModifier(String name, boolean reload) {
@@ -143,6 +174,8 @@ public class UserStats {
             removeModifier(modifier.name(), false, map);
         }
         map.put(modifier.name(), modifier);
+        user.getDirtyState().markModifiers();
+        invalidateCache();
 
         if (modifier instanceof StatModifier statModifier) {
             recalculateStat(statModifier.stat());
@@ -157,6 +190,8 @@ public class UserStats {
         AuraSkillsModifier<V> modifier = map.get(name);
         if (modifier == null) return false;
         map.remove(name);
+        user.getDirtyState().markModifiers();
+        invalidateCache();
 
         if (modifier instanceof StatModifier statModifier) {
             recalculateStat(statModifier.stat());
@@ -180,6 +215,7 @@ public class UserStats {
 
         statLevels.put(stat, level);
         baseStatLevels.put(stat, base);
+        invalidateCache();
     }
 
     private <T> double calculateModifiers(double base, Collection<? extends AuraSkillsModifier<?>> modifiers, T filter) {
@@ -303,9 +339,7 @@ public class UserStats {
         for (Skill skill : plugin.getSkillManager().getEnabledSkills()) {
             if (!user.hasSkillPermission(skill)) continue;
 
-            for (Entry<Stat, Double> entry : getStatLevelRewards(stat, skill)) {
-                level += entry.getValue();
-            }
+            level += getStatLevelReward(stat, skill);
         }
 
         return level;
@@ -315,10 +349,7 @@ public class UserStats {
     public Map<Skill, Double> getLevelRewardedBySkill(Stat stat) {
         Map<Skill, Double> map = new ConcurrentHashMap<>();
         for (Skill skill : plugin.getSkillManager().getEnabledSkills()) {
-            double sum = 0;
-            for (Entry<Stat, Double> entry : getStatLevelRewards(stat, skill)) {
-                sum += entry.getValue();
-            }
+            double sum = getStatLevelReward(stat, skill);
             if (sum > 0) {
                 map.put(skill, sum);
             }
@@ -326,16 +357,12 @@ public class UserStats {
         return map;
     }
 
-    private List<Entry<Stat, Double>> getStatLevelRewards(Stat stat, Skill skill) {
-        List<Entry<Stat, Double>> entries = new ArrayList<>();
+    private double getStatLevelReward(Stat stat, Skill skill) {
+        return plugin.getRewardManager().getRewardTable(skill).getStatLevel(stat, user.getSkillLevel(skill));
+    }
 
-        Map<Stat, Double> skillRewardedStats = plugin.getRewardManager().getRewardTable(skill).getStatLevels(user.getSkillLevel(skill));
-        for (Entry<Stat, Double> entry : skillRewardedStats.entrySet()) {
-            if (!entry.getKey().equals(stat)) continue;
+    private record CachedLevel(int version, double level) {
 
-            entries.add(entry);
-        }
-        return entries;
     }
 
 }
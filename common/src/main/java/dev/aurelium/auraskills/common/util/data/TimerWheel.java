@@ -0,0 +1,131 @@
+package dev.aurelium.auraskills.common.util.data;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A hierarchical timer wheel that groups values by expiration time in slots of one game tick.
+ * Scheduling is constant time, and advancing only touches the slots that pass, so the cost doesn't
+ * depend on how many values are waiting. Values expiring further out than the wheel covers wait in
+ * an overflow queue until they are in range. All methods are synchronized.
+ *
+ * @param <T> the type of scheduled value
+ */
+public class TimerWheel<T> {
+
+    private static final long TICK_MS = 50;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4; // Covers 64^4 ticks, about 9.7 days
+    private static final long RANGE = 1L << (SLOT_BITS * LEVELS);
+
+    private final List<Timer<T>>[][] wheels;
+    private final PriorityQueue<Timer<T>> overflow = new PriorityQueue<>(Comparator.comparingLong(Timer::tick));
+    private final List<T> due = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long now) {
+        this.wheels = new List[LEVELS][SLOTS];
+        this.currentTick = now / TICK_MS;
+    }
+
+    /**
+     * Schedules a value to be returned by {@link #advance(long)} once the expiration time has passed.
+     *
+     * @param value the value
+     * @param expirationTime the expiration time in epoch milliseconds
+     */
+    public synchronized void schedule(T value, long expirationTime) {
+        // Round up so values never expire early
+        long tick = Math.floorDiv(expirationTime + TICK_MS - 1, TICK_MS);
+        insert(new Timer<>(value, tick));
+        size++;
+    }
+
+    /**
+     * Advances the wheel to the given time and removes all values that expired.
+     *
+     * @param now the current time in epoch milliseconds
+     * @return the expired values, empty if none expired
+     */
+    public synchronized List<T> advance(long now) {
+        long targetTick = now / TICK_MS;
+        if (size == 0) {
+            currentTick = Math.max(currentTick, targetTick);
+            return List.of();
+        }
+        while (!overflow.isEmpty() && overflow.peek().tick() - currentTick < RANGE) {
+            insert(overflow.poll());
+        }
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Move timers from higher levels down when the lower level wraps around
+            for (int level = 1; level < LEVELS; level++) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) break;
+                cascade(level, (int) ((currentTick >>> (SLOT_BITS * level)) & MASK));
+            }
+            List<Timer<T>> slot = wheels[0][(int) (currentTick & MASK)];
+            if (slot != null && !slot.isEmpty()) {
+                for (Timer<T> timer : slot) {
+                    due.add(timer.value());
+                }
+                slot.clear();
+            }
+        }
+        if (due.isEmpty()) {
+            return List.of();
+        }
+        List<T> expired = new ArrayList<>(due);
+        due.clear();
+        size -= expired.size();
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void insert(Timer<T> timer) {
+        long delta = timer.tick() - currentTick;
+        if (delta <= 0) {
+            due.add(timer.value());
+            return;
+        }
+        if (delta >= RANGE) {
+            overflow.add(timer);
+            return;
+        }
+        int level = 0;
+        while (delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int index = (int) ((timer.tick() >>> (SLOT_BITS * level)) & MASK);
+        List<Timer<T>> slot = wheels[level][index];
+        if (slot == null) {
+            slot = new ArrayList<>();
+            wheels[level][index] = slot;
+        }
+        slot.add(timer);
+    }
+
+    private void cascade(int level, int index) {
+        List<Timer<T>> slot = wheels[level][index];
+        if (slot == null || slot.isEmpty()) return;
+
+        List<Timer<T>> timers = new ArrayList<>(slot);
+        slot.clear();
+        for (Timer<T> timer : timers) {
+            insert(timer);
+        }
+    }
+
+    private record Timer<T>(T value, long tick) {
+
+    }
+
+}
@@ -0,0 +1,46 @@
+package dev.aurelium.auraskills.common.util.math;
+
+import com.ezylang.evalex.EvaluationException;
+import com.ezylang.evalex.Expression;
+import com.ezylang.evalex.parser.ParseException;
+
+/**
+ * Fallback for expressions the {@link FormulaCompiler} can't compile.
+ */
+class EvalExFormula implements Formula {
+
+    private final Expression expression;
+    private final String[] variables;
+
+    EvalExFormula(String expression, String[] variables) {
+        this.expression = new Expression(expression);
+        this.variables = variables;
+    }
+
+    @Override
+    public double evaluate(double... values) {
+        // Variables are set on the shared expression
+        synchronized (expression) {
+            for (int i = 0; i < variables.length; i++) {
+                expression.with(variables[i], values[i]);
+            }
+            try {
+                return expression.evaluate().getNumberValue().doubleValue();
+            } catch (EvaluationException | ParseException | UnsupportedOperationException e) {
+                throw new FormulaException(e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void validate() {
+        synchronized (expression) {
+            try {
+                expression.validate();
+            } catch (ParseException e) {
+                throw new FormulaException(e.getMessage());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package dev.aurelium.auraskills.common.util.math;
+
+/**
+ * A math expression from the config evaluated with doubles. Formulas are compiled once and are
+ * safe to evaluate from multiple threads.
+ */
+public interface Formula {
+
+    /**
+     * Evaluates the formula.
+     *
+     * @param values the values of the variables, in the order the variables were passed to {@link #compile}
+     * @return the result
+     * @throws FormulaException if the formula is invalid or the result is not a finite number
+     */
+    double evaluate(double... values);
+
+    /**
+     * Checks the syntax of the formula so errors can be reported when the config is loaded.
+     * Compiled formulas were already parsed successfully, so only EvalEx formulas can fail.
+     *
+     * @throws FormulaException if the expression can't be parsed
+     */
+    default void validate() {
+    }
+
+    /**
+     * Compiles an expression into a tree of double operations. Expressions using syntax or functions
+     * the compiler doesn't support are evaluated by EvalEx instead.
+     *
+     * @param expression the expression string
+     * @param variables the names of the variables used in the expression
+     * @return the compiled formula
+     */
+    static Formula compile(String expression, String... variables) {
+        try {
+            return new FormulaCompiler(expression, variables).compile();
+        } catch (FormulaCompiler.UnsupportedSyntaxException e) {
+            return new EvalExFormula(expression, variables);
+        }
+    }
+
+}
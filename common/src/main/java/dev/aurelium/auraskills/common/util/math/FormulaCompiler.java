@@ -0,0 +1,373 @@
+package dev.aurelium.auraskills.common.util.math;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses an expression into a tree of nodes that evaluate with doubles, following EvalEx operator
+ * precedence. Sub-expressions without variables are folded into constants. Syntax or functions not
+ * supported here throw {@link UnsupportedSyntaxException} so the expression can be left to EvalEx.
+ */
+class FormulaCompiler {
+
+    private final String expression;
+    private final String[] variables;
+    private int pos;
+
+    FormulaCompiler(String expression, String[] variables) {
+        this.expression = expression;
+        this.variables = variables;
+    }
+
+    Formula compile() {
+        Node root = parseOr();
+        skipWhitespace();
+        if (pos < expression.length()) {
+            throw unsupported();
+        }
+        return new CompiledFormula(expression, root);
+    }
+
+    private Node parseOr() {
+        Node left = parseAnd();
+        while (match("||")) {
+            Node l = left, r = parseAnd();
+            left = fold(vars -> (l.eval(vars) != 0 || r.eval(vars) != 0) ? 1 : 0, l, r);
+        }
+        return left;
+    }
+
+    private Node parseAnd() {
+        Node left = parseEquality();
+        while (match("&&")) {
+            Node l = left, r = parseEquality();
+            left = fold(vars -> (l.eval(vars) != 0 && r.eval(vars) != 0) ? 1 : 0, l, r);
+        }
+        return left;
+    }
+
+    private Node parseEquality() {
+        Node left = parseComparison();
+        while (true) {
+            Node l = left;
+            if (match("==") || match("=")) {
+                Node r = parseComparison();
+                left = fold(vars -> l.eval(vars) == r.eval(vars) ? 1 : 0, l, r);
+            } else if (match("!=") || match("<>")) {
+                Node r = parseComparison();
+                left = fold(vars -> l.eval(vars) != r.eval(vars) ? 1 : 0, l, r);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Node parseComparison() {
+        Node left = parseAdditive();
+        while (true) {
+            Node l = left;
+            if (match("<=")) {
+                Node r = parseAdditive();
+                left = fold(vars -> l.eval(vars) <= r.eval(vars) ? 1 : 0, l, r);
+            } else if (match(">=")) {
+                Node r = parseAdditive();
+                left = fold(vars -> l.eval(vars) >= r.eval(vars) ? 1 : 0, l, r);
+            } else if (peekIsNot("<>") && match("<")) {
+                Node r = parseAdditive();
+                left = fold(vars -> l.eval(vars) < r.eval(vars) ? 1 : 0, l, r);
+            } else if (match(">")) {
+                Node r = parseAdditive();
+                left = fold(vars -> l.eval(vars) > r.eval(vars) ? 1 : 0, l, r);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Node parseAdditive() {
+        Node left = parseMultiplicative();
+        while (true) {
+            Node l = left;
+            if (match("+")) {
+                Node r = parseMultiplicative();
+                left = fold(vars -> l.eval(vars) + r.eval(vars), l, r);
+            } else if (match("-")) {
+                Node r = parseMultiplicative();
+                left = fold(vars -> l.eval(vars) - r.eval(vars), l, r);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Node parseMultiplicative() {
+        Node left = parsePower();
+        while (true) {
+            Node l = left;
+            if (match("*")) {
+                Node r = parsePower();
+                left = fold(vars -> l.eval(vars) * r.eval(vars), l, r);
+            } else if (match("/")) {
+                Node r = parsePower();
+                left = fold(vars -> l.eval(vars) / r.eval(vars), l, r);
+            } else if (match("%")) {
+                Node r = parsePower();
+                left = fold(vars -> l.eval(vars) % r.eval(vars), l, r);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Node parsePower() {
+        Node base = parseUnary();
+        if (!match("^")) {
+            return base;
+        }
+        Node exponent = parseUnary();
+        // Leave the associativity of chained powers to EvalEx
+        if (match("^")) {
+            throw unsupported();
+        }
+        return fold(vars -> Math.pow(base.eval(vars), exponent.eval(vars)), base, exponent);
+    }
+
+    private Node parseUnary() {
+        // Unary operators bind tighter than ^ in EvalEx, so -2^2 is 4
+        if (match("-")) {
+            Node operand = parseUnary();
+            return fold(vars -> -operand.eval(vars), operand);
+        } else if (match("+")) {
+            return parseUnary();
+        } else if (peekIsNot("!=") && match("!")) {
+            Node operand = parseUnary();
+            return fold(vars -> operand.eval(vars) == 0 ? 1 : 0, operand);
+        }
+        return parsePrimary();
+    }
+
+    private Node parsePrimary() {
+        skipWhitespace();
+        if (pos >= expression.length()) {
+            throw unsupported();
+        }
+        char c = expression.charAt(pos);
+        if (c == '(') {
+            pos++;
+            Node inner = parseOr();
+            expect(')');
+            return inner;
+        } else if (isDigit(c) || c == '.') {
+            return parseNumber();
+        } else if (Character.isLetter(c) || c == '_') {
+            String name = parseIdentifier();
+            if (match("(")) {
+                return parseFunction(name);
+            }
+            return parseVariable(name);
+        }
+        throw unsupported();
+    }
+
+    private Node parseNumber() {
+        int start = pos;
+        while (pos < expression.length() && (isDigit(expression.charAt(pos)) || expression.charAt(pos) == '.')) {
+            pos++;
+        }
+        if (pos < expression.length() && (expression.charAt(pos) == 'e' || expression.charAt(pos) == 'E')) {
+            pos++;
+            if (pos < expression.length() && (expression.charAt(pos) == '+' || expression.charAt(pos) == '-')) {
+                pos++;
+            }
+            while (pos < expression.length() && isDigit(expression.charAt(pos))) {
+                pos++;
+            }
+        }
+        try {
+            return new Constant(Double.parseDouble(expression.substring(start, pos)));
+        } catch (NumberFormatException e) {
+            throw unsupported();
+        }
+    }
+
+    private String parseIdentifier() {
+        int start = pos;
+        while (pos < expression.length() && (Character.isLetterOrDigit(expression.charAt(pos)) || expression.charAt(pos) == '_')) {
+            pos++;
+        }
+        // Structure and array access
+        if (pos < expression.length() && (expression.charAt(pos) == '.' || expression.charAt(pos) == '[')) {
+            throw unsupported();
+        }
+        return expression.substring(start, pos);
+    }
+
+    private Node parseVariable(String name) {
+        for (int i = 0; i < variables.length; i++) {
+            if (variables[i].equalsIgnoreCase(name)) {
+                int index = i;
+                return vars -> vars[index];
+            }
+        }
+        return switch (name.toUpperCase(Locale.ROOT)) {
+            case "PI" -> new Constant(Math.PI);
+            case "E" -> new Constant(Math.E);
+            case "TRUE" -> new Constant(1);
+            case "FALSE" -> new Constant(0);
+            default -> throw unsupported();
+        };
+    }
+
+    private Node parseFunction(String name) {
+        List<Node> args = new ArrayList<>();
+        if (!match(")")) {
+            do {
+                args.add(parseOr());
+            } while (match(","));
+            expect(')');
+        }
+        Node[] a = args.toArray(new Node[0]);
+        return switch (name.toUpperCase(Locale.ROOT)) {
+            case "ABS" -> unary(a, Math::abs);
+            case "CEILING" -> unary(a, Math::ceil);
+            case "FLOOR" -> unary(a, Math::floor);
+            case "SQRT" -> unary(a, Math::sqrt);
+            case "LOG" -> unary(a, Math::log);
+            case "LOG10" -> unary(a, Math::log10);
+            case "EXP" -> unary(a, Math::exp);
+            case "NOT" -> unary(a, x -> x == 0 ? 1 : 0);
+            case "MAX" -> variadic(a, vars -> {
+                double max = a[0].eval(vars);
+                for (int i = 1; i < a.length; i++) {
+                    max = Math.max(max, a[i].eval(vars));
+                }
+                return max;
+            });
+            case "MIN" -> variadic(a, vars -> {
+                double min = a[0].eval(vars);
+                for (int i = 1; i < a.length; i++) {
+                    min = Math.min(min, a[i].eval(vars));
+                }
+                return min;
+            });
+            case "SUM" -> variadic(a, vars -> sum(a, vars));
+            case "AVERAGE" -> variadic(a, vars -> sum(a, vars) / a.length);
+            case "IF" -> {
+                if (a.length != 3) throw unsupported();
+                // Only the selected branch is evaluated
+                yield fold(vars -> a[0].eval(vars) != 0 ? a[1].eval(vars) : a[2].eval(vars), a);
+            }
+            default -> throw unsupported();
+        };
+    }
+
+    private Node unary(Node[] args, DoubleOperator operator) {
+        if (args.length != 1) throw unsupported();
+        Node arg = args[0];
+        return fold(vars -> operator.apply(arg.eval(vars)), arg);
+    }
+
+    private Node variadic(Node[] args, Node node) {
+        if (args.length == 0) throw unsupported();
+        return fold(node, args);
+    }
+
+    private static double sum(Node[] args, double[] vars) {
+        double sum = 0;
+        for (Node arg : args) {
+            sum += arg.eval(vars);
+        }
+        return sum;
+    }
+
+    private Node fold(Node node, Node... children) {
+        for (Node child : children) {
+            if (!(child instanceof Constant)) {
+                return node;
+            }
+        }
+        return new Constant(node.eval(new double[0]));
+    }
+
+    private boolean match(String token) {
+        skipWhitespace();
+        if (expression.startsWith(token, pos)) {
+            pos += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean peekIsNot(String token) {
+        skipWhitespace();
+        return !expression.startsWith(token, pos);
+    }
+
+    private void expect(char c) {
+        skipWhitespace();
+        if (pos >= expression.length() || expression.charAt(pos) != c) {
+            throw unsupported();
+        }
+        pos++;
+    }
+
+    private void skipWhitespace() {
+        while (pos < expression.length() && Character.isWhitespace(expression.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private UnsupportedSyntaxException unsupported() {
+        return new UnsupportedSyntaxException();
+    }
+
+    @FunctionalInterface
+    interface Node {
+
+        double eval(double[] vars);
+
+    }
+
+    @FunctionalInterface
+    private interface DoubleOperator {
+
+        double apply(double value);
+
+    }
+
+    private record Constant(double value) implements Node {
+
+        @Override
+        public double eval(double[] vars) {
+            return value;
+        }
+
+    }
+
+    private record CompiledFormula(String expression, Node root) implements Formula {
+
+        @Override
+        public double evaluate(double... values) {
+            double result = root.eval(values);
+            if (!Double.isFinite(result)) {
+                throw new FormulaException("Result of " + expression + " is not a finite number");
+            }
+            return result;
+        }
+
+    }
+
+    static class UnsupportedSyntaxException extends RuntimeException {
+
+        UnsupportedSyntaxException() {
+            super(null, null, false, false);
+        }
+
+    }
+
+}
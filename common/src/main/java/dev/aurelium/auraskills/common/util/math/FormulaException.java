@@ -0,0 +1,9 @@
+package dev.aurelium.auraskills.common.util.math;
+
+public class FormulaException extends RuntimeException {
+
+    public FormulaException(String message) {
+        super(message);
+    }
+
+}
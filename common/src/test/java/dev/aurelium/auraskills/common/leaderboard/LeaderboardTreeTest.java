@@ -0,0 +1,57 @@
+package dev.aurelium.auraskills.common.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeaderboardTreeTest {
+
+    @Test
+    void testUpdatesKeepOrderAndRanks() {
+        LeaderboardTree tree = new LeaderboardTree(new LeaderboardSorter());
+        Comparator<SkillValue> order = new LeaderboardSorter().thenComparing(SkillValue::id);
+        Map<UUID, SkillValue> expected = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        Random random = new Random(0);
+        for (int i = 0; i < 5000; i++) {
+            UUID id = ids.get(random.nextInt(ids.size()));
+            if (random.nextInt(8) == 0) {
+                tree.remove(id);
+                expected.remove(id);
+            } else {
+                SkillValue value = new SkillValue(id, random.nextInt(10), random.nextInt(30) / 10.0);
+                tree.put(value);
+                expected.put(id, value);
+            }
+        }
+        List<SkillValue> sorted = new ArrayList<>(expected.values());
+        sorted.sort(order);
+
+        assertEquals(sorted, tree.toList());
+        assertEquals(sorted.size(), tree.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i + 1, tree.getRank(sorted.get(i).id()));
+        }
+        assertEquals(sorted.subList(10, 20), tree.getRange(10, 10));
+        assertTrue(tree.getRange(sorted.size(), 10).isEmpty());
+    }
+
+    @Test
+    void testPutUnchangedValue() {
+        LeaderboardTree tree = new LeaderboardTree(new LeaderboardSorter());
+        UUID id = UUID.randomUUID();
+
+        assertTrue(tree.put(new SkillValue(id, 5, 1.0)));
+        assertFalse(tree.put(new SkillValue(id, 5, 1.0)));
+        assertTrue(tree.put(new SkillValue(id, 6, 0.0)));
+        assertEquals(1, tree.size());
+        assertEquals(1, tree.getRank(id));
+        assertEquals(0, tree.getRank(UUID.randomUUID()));
+    }
+
+}
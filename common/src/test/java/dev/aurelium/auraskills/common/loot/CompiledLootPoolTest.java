@@ -0,0 +1,95 @@
+package dev.aurelium.auraskills.common.loot;
+
+import dev.aurelium.auraskills.api.loot.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledLootPoolTest {
+
+    private static final UUID PLAYER = UUID.randomUUID();
+
+    @Test
+    void testSelectsOnlyMatchingContexts() {
+        Loot stone = loot(10, "sources", Set.of(new TestContext("stone")), true);
+        Loot ore = loot(10, "sources", Set.of(new TestContext("ore")), true);
+        Loot any = loot(5, null, null, true);
+        CompiledLootPool pool = pool(stone, ore, any);
+
+        Set<Loot> selected = selectMany(pool, "sources", new TestContext("stone"));
+        assertEquals(Set.of(stone, any), selected);
+        // Unknown context values only match entries without the key
+        assertEquals(Set.of(any), selectMany(pool, "sources", new TestContext("dirt")));
+        // No context or an unknown key matches every entry
+        assertEquals(Set.of(stone, ore, any), selectMany(pool, "sources", null));
+        assertEquals(Set.of(stone, ore, any), selectMany(pool, "mobs", new TestContext("zombie")));
+    }
+
+    @Test
+    void testSkipsFailedRequirementsAndZeroWeight() {
+        Loot locked = loot(1000, null, null, false);
+        Loot empty = loot(0, null, null, true);
+        Loot open = loot(1, null, null, true);
+        CompiledLootPool pool = pool(locked, empty, open);
+
+        assertEquals(Set.of(open), selectMany(pool, "sources", null));
+        assertNull(pool(locked, empty).selectLoot("sources", null, PLAYER));
+    }
+
+    @Test
+    void testWeightsAreProportional() {
+        Loot common = loot(3, null, null, true);
+        Loot rare = loot(1, null, null, true);
+        CompiledLootPool pool = pool(common, rare);
+
+        int rareCount = 0;
+        int rolls = 40000;
+        for (int i = 0; i < rolls; i++) {
+            if (pool.selectLoot("sources", null, PLAYER) == rare) {
+                rareCount++;
+            }
+        }
+        assertEquals(0.25, (double) rareCount / rolls, 0.02);
+    }
+
+    private Set<Loot> selectMany(CompiledLootPool pool, String key, TestContext context) {
+        Set<Loot> selected = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            Loot loot = pool.selectLoot(key, context, PLAYER);
+            if (loot != null) {
+                selected.add(loot);
+            }
+        }
+        return selected;
+    }
+
+    private CompiledLootPool pool(Loot... loot) {
+        return new CompiledLootPool("test", List.of(loot), 1.0, 1, false, Map.of(), requirements(true));
+    }
+
+    private Loot loot(int weight, String key, Set<LootContext> contexts, boolean passes) {
+        Map<String, Set<LootContext>> contextMap = key != null ? Map.of(key, contexts) : Map.of();
+        return new Loot(new LootValues(weight, null, contextMap, Map.of(), requirements(passes))) {};
+    }
+
+    private LootRequirements requirements(boolean passes) {
+        return new LootRequirements() {
+            @Override
+            public boolean checkByUuid(UUID uuid) {
+                return passes;
+            }
+        };
+    }
+
+    private record TestContext(String name) implements LootContext {
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+    }
+
+}
@@ -0,0 +1,22 @@
+package dev.aurelium.auraskills.common.message;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MessageTemplateTest {
+
+    @Test
+    void testRender() {
+        MessageTemplate template = MessageTemplate.compile("<gold>{skill} {level} <gray>({current_xp}/{level_xp}) {skill}", "skill", "level", "current_xp", "level_xp");
+        assertEquals("<gold>Farming V <gray>(10/100) Farming", template.render("Farming", "V", "10", "100"));
+    }
+
+    @Test
+    void testKeepsUnknownPlaceholders() {
+        MessageTemplate template = MessageTemplate.compile("{{hp}} {unknown} {mana} %player_name% {", "hp", "mana");
+        assertEquals("{20} {unknown} 5 %player_name% {", template.render("20", "5"));
+        assertEquals("No placeholders", MessageTemplate.compile("No placeholders", "hp").render("20"));
+    }
+
+}
@@ -0,0 +1,82 @@
+package dev.aurelium.auraskills.common.region;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegionFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRoundTrip() throws IOException {
+        Region region = new Region("world", -1, 2);
+        ChunkData chunkData = new ChunkData(region, (byte) 3, (byte) 31);
+        region.setChunkData(new ChunkCoordinate((byte) 3, (byte) 31), chunkData);
+        // Chunk (-29, 95) in world coordinates
+        int baseX = -29 * 16;
+        int baseZ = 95 * 16;
+        BlockPosition[] positions = {
+                new BlockPosition(baseX, -64, baseZ),
+                new BlockPosition(baseX + 15, 319, baseZ + 15),
+                new BlockPosition(baseX + 7, 0, baseZ + 2),
+                new BlockPosition(baseX + 7, 1, baseZ + 2)
+        };
+        for (BlockPosition pos : positions) {
+            chunkData.addPlacedBlock(pos);
+        }
+
+        File file = tempDir.resolve("r.-1.2" + RegionFile.EXTENSION).toFile();
+        RegionFile.write(file, region);
+
+        Region loaded = new Region("world", -1, 2);
+        RegionFile.read(file, loaded);
+        ChunkData loadedChunk = loaded.getChunkData(new ChunkCoordinate((byte) 3, (byte) 31));
+        assertNotNull(loadedChunk);
+        assertEquals(positions.length, loadedChunk.getPlacedBlockCount());
+        for (BlockPosition pos : positions) {
+            assertTrue(loadedChunk.isPlacedBlock(pos));
+        }
+    }
+
+    @Test
+    void testDirtyTracking() throws IOException {
+        Region region = new Region("world", 0, 0);
+        ChunkData chunkData = new ChunkData(region, (byte) 0, (byte) 0);
+        region.setChunkData(new ChunkCoordinate((byte) 0, (byte) 0), chunkData);
+        chunkData.addPlacedBlock(new BlockPosition(1, 2, 3));
+        assertTrue(chunkData.isDirty());
+        assertTrue(region.isDirty());
+
+        File file = tempDir.resolve("r.0.0" + RegionFile.EXTENSION).toFile();
+        assertTrue(RegionFile.write(file, region));
+        assertFalse(chunkData.isDirty());
+
+        Region loaded = new Region("world", 0, 0);
+        RegionFile.read(file, loaded);
+        ChunkData loadedChunk = loaded.getChunkData(new ChunkCoordinate((byte) 0, (byte) 0));
+        assertNotNull(loadedChunk);
+        assertFalse(loadedChunk.isDirty());
+        assertFalse(loaded.isDirty());
+
+        loadedChunk.removePlacedBlock(new BlockPosition(1, 2, 3));
+        assertTrue(loaded.isDirty());
+        // Nothing left to write
+        assertFalse(RegionFile.write(file, loaded));
+    }
+
+    @Test
+    void testInvalidHeader() throws IOException {
+        File file = tempDir.resolve("r.0.0" + RegionFile.EXTENSION).toFile();
+        Files.write(file.toPath(), new byte[] {1, 2, 3, 4, 5});
+        assertThrows(IOException.class, () -> RegionFile.read(file, new Region("world", 0, 0)));
+    }
+
+}
@@ -0,0 +1,60 @@
+package dev.aurelium.auraskills.common.region;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegionTest {
+
+    @Test
+    void testWritesBufferedWhileLoading() {
+        Region region = new Region("world", 0, 0);
+        region.startLoading();
+        assertFalse(region.getLoadFuture().isDone());
+
+        region.addPlacedBlock(5, 70, 5);
+        region.removePlacedBlock(5, 70, 5);
+        region.addPlacedBlock(20, 64, 3);
+        // Nothing is applied until loading finishes
+        assertNull(region.getChunkData(0, 0));
+
+        // Simulate a block read from the file that was broken during loading
+        region.getOrCreateChunkData(0, 0).addLoadedBlock(ChunkData.pack(5, 70, 5));
+        region.finishLoading();
+
+        assertTrue(region.getLoadFuture().isDone());
+        assertFalse(region.isLoading());
+        assertFalse(region.getOrCreateChunkData(0, 0).isPlacedBlock(5, 70, 5));
+        ChunkData chunkData = region.getChunkData(1, 0);
+        assertNotNull(chunkData);
+        assertTrue(chunkData.isPlacedBlock(20, 64, 3));
+    }
+
+    @Test
+    void testChunkDataUsesRegionRelativeCoordinates() {
+        Region region = new Region("world", -1, 2);
+        // World block x -300 is in chunk -19, which is region-relative chunk 13
+        region.addPlacedBlock(-300, 64, 1100);
+
+        ChunkData chunkData = region.getChunkData(13, 4);
+        assertNotNull(chunkData);
+        assertEquals(13, chunkData.getX());
+        assertEquals(4, chunkData.getZ());
+        assertTrue(chunkData.isPlacedBlock(-300, 64, 1100));
+    }
+
+    @Test
+    void testWritesRejectedAfterUnload() {
+        Region region = new Region("world", 0, 0);
+        assertTrue(region.addPlacedBlock(1, 64, 1));
+        // Dirty regions are kept so the change isn't lost
+        assertFalse(region.markUnloaded());
+
+        region.setDirty(false);
+        assertTrue(region.markUnloaded());
+        assertFalse(region.addPlacedBlock(2, 64, 2));
+        assertFalse(region.removePlacedBlock(1, 64, 1));
+        assertFalse(region.isDirty());
+    }
+
+}
@@ -0,0 +1,54 @@
+package dev.aurelium.auraskills.common.util.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimerWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void testExpiresAfterTime() {
+        TimerWheel<String> wheel = new TimerWheel<>(START);
+        wheel.schedule("soon", START + 120);
+        wheel.schedule("later", START + 60_000);
+        wheel.schedule("past", START - 1000);
+
+        assertEquals(List.of("past"), wheel.advance(START));
+        assertEquals(List.of(), wheel.advance(START + 100));
+        assertEquals(List.of("soon"), wheel.advance(START + 150));
+        assertEquals(List.of(), wheel.advance(START + 59_999));
+        assertEquals(List.of("later"), wheel.advance(START + 60_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testMatchesExpirationTimes() {
+        Random random = new Random(7);
+        TimerWheel<Long> wheel = new TimerWheel<>(START);
+        Map<Long, Long> pending = new HashMap<>();
+        long now = START;
+        long id = 0;
+        for (int step = 0; step < 2000; step++) {
+            for (int i = 0; i < 3; i++) {
+                // Durations from a few milliseconds to several weeks
+                long expiration = now + (long) Math.pow(10, random.nextDouble() * 9.5);
+                pending.put(id, expiration);
+                wheel.schedule(id++, expiration);
+            }
+            now += random.nextInt(4) == 0 ? random.nextInt(2_000_000) : random.nextInt(2000);
+            for (long expired : wheel.advance(now)) {
+                assertTrue(pending.remove(expired) <= now);
+            }
+            for (long expiration : pending.values()) {
+                // Anything left must expire after the current tick
+                assertTrue((expiration + 49) / 50 > now / 50);
+            }
+        }
+        assertEquals(pending.size(), wheel.size());
+    }
+
+}
@@ -0,0 +1,57 @@
+package dev.aurelium.auraskills.common.util.math;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FormulaTest {
+
+    @Test
+    void testOperatorPrecedence() {
+        assertEquals(14, eval("2 + 3 * 4"));
+        assertEquals(20, eval("(2 + 3) * 4"));
+        assertEquals(1, eval("7 % 3"));
+        assertEquals(4, eval("-2^2"));
+        assertEquals(0.25, eval("2^-2"));
+        assertEquals(1, eval("1 + 1 = 2"));
+        assertEquals(1, eval("1 <> 2 && 3 >= 3"));
+        assertEquals(0, eval("!(1 < 2) || 2 <= 1"));
+        assertEquals(1500, eval("1.5e3"));
+    }
+
+    @Test
+    void testVariablesAndFunctions() {
+        Formula formula = Formula.compile("MAX(xp * 0.1, level) + if(Power > 10, sqrt(power), 0)", "xp", "level", "power");
+        assertEquals(5 + 4, formula.evaluate(50, 5, 16));
+        assertEquals(7, formula.evaluate(70, 5, 9));
+        assertEquals(-1 * Math.pow(1.01, -1.0 * 20) + 1, Formula.compile("-1 * 1.01^(-1 * value) + 1", "value").evaluate(20), 1e-12);
+        assertEquals(3, eval("floor(PI)"));
+        assertEquals(2, eval("average(1, 2, 3)"));
+    }
+
+    @Test
+    void testNonFiniteResultThrows() {
+        Formula formula = Formula.compile("1 / x", "x");
+        assertEquals(0.5, formula.evaluate(2));
+        assertThrows(FormulaException.class, () -> formula.evaluate(0));
+    }
+
+    @Test
+    void testUnsupportedSyntaxFallsBack() {
+        assertInstanceOf(EvalExFormula.class, Formula.compile("ROUND(x, 2)", "x"));
+        assertInstanceOf(EvalExFormula.class, Formula.compile("2^3^2"));
+        assertInstanceOf(EvalExFormula.class, Formula.compile("unknown + 1"));
+        assertInstanceOf(EvalExFormula.class, Formula.compile("(1 + 2"));
+    }
+
+    @Test
+    void testValidateReportsParseErrors() {
+        assertDoesNotThrow(() -> Formula.compile("min_count * 2", "min_count").validate());
+        assertThrows(FormulaException.class, () -> Formula.compile("(1 + 2").validate());
+    }
+
+    private double eval(String expression) {
+        return Formula.compile(expression).evaluate();
+    }
+
+}